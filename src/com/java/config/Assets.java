@@ -0,0 +1,254 @@
+package com.java.config;
+
+import com.java.utils.Debug;
+
+import javax.imageio.ImageIO;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+
+/**
+ * Images, fonts and sounds of the resources, each decoded once on background threads.
+ * preload() starts decoding every asset while the launcher is shown; the UI then waits only for the asset it needs,
+ * which is usually ready. An asset asked before preload() is loaded the same way, and never twice.
+ * Paths are relative to the resources, like "icons/titleImage.png".
+ */
+public class Assets {
+    /**
+     * Directories and extensions of the assets decoded by preload().
+     */
+    private static final String[][] PRELOADED = {{"shapes", ".png"}, {"icons", ".png"}, {"fonts", ".ttf"},
+            {"sfx", ".wav"}};
+
+    /**
+     * Threads decoding the assets, they never prevent the game from exiting.
+     */
+    private static final ExecutorService loaders = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()), r -> {
+                Thread thread = new Thread(r, "asset-loader");
+                thread.setDaemon(true);
+                return thread;
+            });
+    /**
+     * Every asset requested, by path.
+     */
+    private static final Map<String, CompletableFuture<?>> assets = new ConcurrentHashMap<>();
+    /**
+     * Time taken to decode each asset, in nanoseconds.
+     */
+    private static final Map<String, Long> timings = new ConcurrentHashMap<>();
+
+    /**
+     * Sound decoded in memory, ready to be opened by a clip without reading the disk.
+     */
+    public static class Sound {
+        /**
+         * Format of the samples.
+         */
+        private final AudioFormat format;
+        /**
+         * Samples of the sound.
+         */
+        private final byte[] data;
+
+        /**
+         * Constructor of the Sound.
+         * @param format the format of the samples
+         * @param data the samples
+         */
+        Sound(AudioFormat format, byte[] data) {
+            this.format = format;
+            this.data = data;
+        }
+
+        /**
+         * @return the format of the samples
+         */
+        public AudioFormat getFormat() {
+            return format;
+        }
+
+        /**
+         * @return the samples of the sound, they must not be modified
+         */
+        public byte[] getData() {
+            return data;
+        }
+    }
+
+    /**
+     * Starts decoding every image, font and sound of the resources in the background.
+     * @return a future completed when every asset is decoded or has failed
+     */
+    public static CompletableFuture<Void> preload() {
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (String[] kind : PRELOADED) {
+            try (Stream<Path> files = Files.list(Path.of(GuiConfig.resPath, kind[0]))) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    String name = file.getFileName().toString();
+                    if (!name.endsWith(kind[1])) continue;
+                    String path = kind[0] + "/" + name;
+                    futures.add(switch (kind[1]) {
+                        case ".png" -> image(path);
+                        case ".ttf" -> font(path);
+                        default -> sound(path);
+                    });
+                }
+            } catch (IOException e) {
+                System.out.println("Error while listing the assets in " + kind[0] + ": " + e.getMessage());
+            }
+        }
+        // The failures are reported when the assets are used
+        return CompletableFuture.allOf(futures.stream().map(f -> f.exceptionally(e -> null))
+                .toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * @param path path of an image in the resources
+     * @return the future of the image, the decoding starts if it has not been requested yet
+     */
+    @SuppressWarnings("unchecked")
+    public static CompletableFuture<BufferedImage> image(String path) {
+        return (CompletableFuture<BufferedImage>) assets.computeIfAbsent(path, p -> load(p, () -> {
+            BufferedImage image = ImageIO.read(new File(GuiConfig.resPath + p));
+            if (image == null) throw new IOException("Unknown image format.");
+            return image;
+        }));
+    }
+
+    /**
+     * @param path path of a TrueType font in the resources
+     * @return the future of the font, the decoding starts if it has not been requested yet
+     */
+    @SuppressWarnings("unchecked")
+    public static CompletableFuture<Font> font(String path) {
+        return (CompletableFuture<Font>) assets.computeIfAbsent(path, p -> load(p,
+                () -> Font.createFont(Font.TRUETYPE_FONT, new File(GuiConfig.resPath + p))));
+    }
+
+    /**
+     * @param path path of a sound in the resources
+     * @return the future of the sound, the decoding starts if it has not been requested yet
+     */
+    @SuppressWarnings("unchecked")
+    public static CompletableFuture<Sound> sound(String path) {
+        return (CompletableFuture<Sound>) assets.computeIfAbsent(path, p -> load(p, () -> {
+            try (AudioInputStream in = AudioSystem.getAudioInputStream(new File(GuiConfig.resPath + p))) {
+                return new Sound(in.getFormat(), in.readAllBytes());
+            }
+        }));
+    }
+
+    /**
+     * Waits for an image.
+     * @param path path of an image in the resources
+     * @return the image, shared by every caller, it must not be modified
+     * @throws IllegalStateException if the image cannot be loaded
+     */
+    public static BufferedImage getImage(String path) {
+        return get(image(path), path);
+    }
+
+    /**
+     * Waits for a font.
+     * @param path path of a TrueType font in the resources
+     * @return the font, with a size of 1
+     * @throws IllegalStateException if the font cannot be loaded
+     */
+    public static Font getFont(String path) {
+        return get(font(path), path);
+    }
+
+    /**
+     * Waits for a sound.
+     * @param path path of a sound in the resources
+     * @return the sound
+     * @throws IllegalStateException if the sound cannot be loaded
+     */
+    public static Sound getSound(String path) {
+        return get(sound(path), path);
+    }
+
+    /**
+     * @return the time taken to decode each asset already loaded, in nanoseconds, sorted by path
+     */
+    public static Map<String, Long> getTimings() {
+        return new TreeMap<>(timings);
+    }
+
+    /**
+     * Prints the time taken to decode each asset already loaded in the debug output.
+     */
+    public static void printTimings() {
+        long total = 0;
+        for (Map.Entry<String, Long> timing : getTimings().entrySet()) {
+            Debug.out(String.format("Asset %s loaded in %.2f ms", timing.getKey(), timing.getValue() / 1e6));
+            total += timing.getValue();
+        }
+        Debug.out(String.format("%d assets loaded in %.2f ms of loading time", timings.size(), total / 1e6));
+    }
+
+    /**
+     * Decoder of an asset.
+     * @param <T> type of the asset
+     */
+    private interface Loader<T> {
+        /**
+         * @return the decoded asset
+         * @throws Exception if the asset cannot be decoded
+         */
+        T load() throws Exception;
+    }
+
+    /**
+     * Decodes an asset on a loading thread and measures the time taken.
+     * @param path path of the asset
+     * @param loader decoder of the asset
+     * @param <T> type of the asset
+     * @return the future of the asset
+     */
+    private static <T> CompletableFuture<T> load(String path, Loader<T> loader) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                return loader.load();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            } finally {
+                timings.put(path, System.nanoTime() - start);
+            }
+        }, loaders);
+    }
+
+    /**
+     * @param future the future of an asset
+     * @param path path of the asset
+     * @param <T> type of the asset
+     * @return the asset
+     * @throws IllegalStateException if the asset cannot be loaded
+     */
+    private static <T> T get(CompletableFuture<T> future, String path) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Could not load " + path + ": " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+}
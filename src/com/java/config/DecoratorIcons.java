@@ -0,0 +1,125 @@
+package com.java.config;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * Atlas of the icons painted on the cells of the decorators: the actions (RotationL, RotationR, FlipX, FlipY)
+ * and the four arrows of the translations. The icons are decoded once by Assets and scaled once for the size
+ * of the cells, the scaled copies are rebuilt only when the size of the cells changes.
+ * Painting a decorator then only draws images already at their final size, without reading any file.
+ * It is used by the painting code, on the event dispatch thread, only render may be called from another thread.
+ */
+public class DecoratorIcons {
+    /**
+     * Actions of the decorators that have an icon.
+     */
+    private static final String[] ACTIONS = {"RotationL", "RotationR", "FlipX", "FlipY"};
+    /**
+     * Icons of the directions of a translation, in the order of Translation.getDirections().
+     */
+    private static final String[] ARROWS = {"up", "right", "down", "left"};
+    /**
+     * Scale of the action icons compared to their image, they keep the same size whatever the size of the cells.
+     */
+    private static final double ACTION_SCALE = 0.05;
+
+    /**
+     * Size of the cells the icons are scaled for, -1 before the first scaling.
+     */
+    private static int cellSize = -1;
+    /**
+     * Scaled icons, by action or direction name. The icons that could not be loaded are mapped to null.
+     */
+    private static final Map<String, BufferedImage> scaled = new HashMap<>();
+
+    /**
+     * Scales the icons for a size of cells, if they are not already scaled for it.
+     * @param size size of the cells in pixels
+     */
+    public static void scaleTo(int size) {
+        if (size == cellSize) return;
+        install(size, render(size));
+    }
+
+    /**
+     * Scales the icons for a size of cells without installing them, it can be called from any thread.
+     * @param size size of the cells in pixels
+     * @return the scaled icons, by action or direction name, to give to install
+     */
+    public static Map<String, BufferedImage> render(int size) {
+        Map<String, BufferedImage> icons = new HashMap<>();
+        for (String action : ACTIONS) {
+            BufferedImage image = original(action);
+            icons.put(action, image == null ? null : scale(image, Math.max(1, (int) (image.getWidth() * ACTION_SCALE)),
+                    Math.max(1, (int) (image.getHeight() * ACTION_SCALE))));
+        }
+        for (String arrow : ARROWS) {
+            BufferedImage image = original(arrow);
+            icons.put(arrow, image == null ? null : scale(image, Math.max(1, size), Math.max(1, size)));
+        }
+        return icons;
+    }
+
+    /**
+     * Replaces the icons by icons scaled in advance by render.
+     * @param size size of the cells the icons were scaled for
+     * @param icons the scaled icons
+     */
+    public static void install(int size, Map<String, BufferedImage> icons) {
+        cellSize = size;
+        scaled.clear();
+        scaled.putAll(icons);
+    }
+
+    /**
+     * @param action action of a decorator, like "RotationL"
+     * @param size size of the cells in pixels
+     * @return the icon of the action at its final size, or null if the action has no icon
+     */
+    public static BufferedImage getAction(String action, int size) {
+        scaleTo(size);
+        return scaled.get(action);
+    }
+
+    /**
+     * @param direction index of a direction of a translation, 0 for up, 1 right, 2 down and 3 left
+     * @param size size of the cells in pixels
+     * @return the arrow of the direction with the size of a cell, or null if it could not be loaded
+     */
+    public static BufferedImage getArrow(int direction, int size) {
+        scaleTo(size);
+        return scaled.get(ARROWS[direction]);
+    }
+
+    /**
+     * @param name name of an icon
+     * @return the decoded icon, or null if it cannot be loaded
+     */
+    private static BufferedImage original(String name) {
+        try {
+            return Assets.getImage("icons/" + name + ".png");
+        } catch (IllegalStateException e) {
+            System.out.println("File not found : " + GuiConfig.resPath + "icons/" + name + ".png");
+            System.out.println("Error in DecoratorIcons : " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @param image image to scale, it is not modified
+     * @param width width of the scaled image
+     * @param height height of the scaled image
+     * @return a smooth copy of the image with the given size
+     */
+    private static BufferedImage scale(BufferedImage image, int width, int height) {
+        BufferedImage result = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = result.createGraphics();
+        g2d.drawImage(image.getScaledInstance(width, height, Image.SCALE_SMOOTH), 0, 0, null);
+        g2d.dispose();
+        return result;
+    }
+}
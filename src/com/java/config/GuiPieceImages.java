@@ -1,95 +1,140 @@
 package com.java.config;
 
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.geom.AffineTransform;
 import java.awt.image.AffineTransformOp;
 import java.awt.image.BufferedImage;
-import java.awt.image.WritableRaster;
-import java.io.File;
-import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 
 /**
  * class to help manage the png and images used for the pieces in the game.
+ * Each variant of a piece (shape, rotations, flips, colour and size of the cells) is rendered once into a sprite
+ * at its final size, so painting a piece is a single drawImage. The sprites are kept in a cache that forgets
+ * the least recently used ones when they take more than MAX_BYTES.
+ * It is used by the painting code on the event dispatch thread, and by the SpriteRescaler thread that renders the
+ * sprites of a new size of cells in advance, so every method using the cache is synchronized.
  */
 public class GuiPieceImages {
-
     /**
-     * Image for O shape (a 2 by 2 shape).
+     * Memory the sprites may take before the least recently used ones are forgotten, in bytes.
      */
-    public static ImageIcon OImage;
+    public static final long MAX_BYTES = 32L << 20;
     /**
-     * Image for Ho (Horizontal) shape (a 2 by 1 shape).
+     * Size of a cell in the images of the shapes, in pixels.
      */
-    public static ImageIcon HoImage;
+    private static final int IMAGE_CELL_SIZE = 120;
+
     /**
-     * Image for I (bar) shape (a 1 by 3 shape).
+     * Sprites of the pieces, by variant, from the least to the most recently used.
      */
-    public static ImageIcon IImage;
+    private static final Map<String, BufferedImage> sprites = new LinkedHashMap<>(64, 0.75f, true);
     /**
-     * Image for J shape (a 2 by 3 shape).
+     * Memory taken by the sprites, in bytes.
      */
-    public static ImageIcon JImage;
+    private static long bytes = 0;
+
     /**
-     * Image for L shape (a 2 by 3 shape).
+     * Gives the sprite of a piece, it is rendered the first time the variant is asked.
+     * @param type type of the shape of the piece, like "OShape"
+     * @param rotations number of rotations of the piece
+     * @param xFlipped true if the piece is flipped on the x-axis
+     * @param yFlipped true if the piece is flipped on the y-axis
+     * @param color color of the piece
+     * @param cellSize size of the cells in pixels
+     * @return the sprite at its final size, shared and not to be modified, or null if the shape has no image
      */
-    public static ImageIcon LImage;
+    public static synchronized BufferedImage getSprite(String type, int rotations, boolean xFlipped,
+                                                       boolean yFlipped, Color color, int cellSize) {
+        String key = type + ':' + rotations + ':' + xFlipped + ':' + yFlipped + ':' + color.getRGB() + ':' + cellSize;
+        BufferedImage sprite = sprites.get(key);
+        if (sprite != null) return sprite;
+
+        BufferedImage image;
+        try {
+            image = Assets.getImage("shapes/" + type + ".png");
+        } catch (IllegalStateException e) {
+            System.out.println("ERROR LOADING IMAGES FROM RESOURCES");
+            System.out.println("ERROR: " + e.getMessage());
+            return null;
+        }
+        // orient the image like the piece
+        ImageIcon icon = new ImageIcon(image);
+        for (int i = 0; i < rotations; i++) icon = rotateImage(icon);
+        if (xFlipped) icon = flipImage(icon, true);
+        if (yFlipped) icon = flipImage(icon, false);
+        // scale it to the size of the cells, then give it the colour of the piece
+        BufferedImage oriented = (BufferedImage) icon.getImage();
+        sprite = scale(oriented, oriented.getWidth() / IMAGE_CELL_SIZE * cellSize,
+                oriented.getHeight() / IMAGE_CELL_SIZE * cellSize);
+        changeColour(sprite, color);
+
+        sprites.put(key, sprite);
+        bytes += size(sprite);
+        // forget the least recently used sprites, but always keep the new one
+        Iterator<BufferedImage> eldest = sprites.values().iterator();
+        while (bytes > MAX_BYTES && sprites.size() > 1) {
+            bytes -= size(eldest.next());
+            eldest.remove();
+        }
+        return sprite;
+    }
+
     /**
-     * Image for Single shape (a 1 by 1 shape).
+     * @return the memory taken by the sprites in the cache, in bytes
      */
-    public static ImageIcon SingleImage;
+    public static synchronized long getCachedBytes() {
+        return bytes;
+    }
+
     /**
-     * Image for T shape (a 3 by 2 shape).
+     * Forgets every sprite of the cache.
      */
-    public static ImageIcon TImage;
+    public static synchronized void clear() {
+        sprites.clear();
+        bytes = 0;
+    }
+
     /**
-     * Image for Ve (Vertical) shape (a 1 by 2 shape).
+     * @param sprite a sprite
+     * @return the memory taken by the sprite, in bytes
      */
-    public static ImageIcon VeImage;
+    private static long size(BufferedImage sprite) {
+        return (long) sprite.getWidth() * sprite.getHeight() * 4;
+    }
 
     /**
-     * This is a computationally expensive function, only call this once at the start of the game.
+     * @param image image to scale, it is not modified
+     * @param width width of the scaled image
+     * @param height height of the scaled image
+     * @return a copy of the image with the given size
      */
-    public static void preLoadImages() {
-        // PreLoad the image from resources
-        try {
-            OImage = new ImageIcon(ImageIO.read(new File(GuiConfig.resPath + "shapes/OShape.png")));
-            HoImage = new ImageIcon(ImageIO.read(new File(GuiConfig.resPath + "shapes/HoShape.png")));
-            IImage = new ImageIcon(ImageIO.read(new File(GuiConfig.resPath + "shapes/IShape.png")));
-            JImage = new ImageIcon(ImageIO.read(new File(GuiConfig.resPath + "shapes/JShape.png")));
-            LImage = new ImageIcon(ImageIO.read(new File(GuiConfig.resPath + "shapes/LShape.png")));
-            SingleImage = new ImageIcon(ImageIO.read(new File(GuiConfig.resPath + "shapes/SingleShape.png")));
-            TImage = new ImageIcon(ImageIO.read(new File(GuiConfig.resPath + "shapes/TShape.png")));
-            VeImage = new ImageIcon(ImageIO.read(new File(GuiConfig.resPath + "shapes/VeShape.png")));
-        } catch (IOException e) {
-            System.out.println("ERROR LOADING IMAGES FROM RESOURCES");
-            System.out.println("ERROR: " + e.getMessage());
-        }
+    private static BufferedImage scale(BufferedImage image, int width, int height) {
+        BufferedImage result = new BufferedImage(Math.max(1, width), Math.max(1, height),
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = result.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.drawImage(image, 0, 0, result.getWidth(), result.getHeight(), null);
+        g2d.dispose();
+        return result;
     }
 
     /**
-     * This method changes the color of an image icon to the specified color.
-     * @param icon the image icon to change the color of
+     * This method changes the color of an image to the specified color, keeping its transparency.
+     * The pixels are read and written in bulk.
+     * @param image the image to change the color of
      * @param color the color to change the image to
      */
-    public static void changeColour(ImageIcon icon, Color color){
-        // get the buffered image
-        BufferedImage bufferedImage = (BufferedImage) icon.getImage();
-        WritableRaster raster = bufferedImage.getRaster();
-        int[] pixels = new int[4];
-        for (int x = 0; x < bufferedImage.getWidth(); x++) {
-            for (int y = 0; y < bufferedImage.getHeight(); y++) {
-                raster.getPixel(x, y, pixels);
-                pixels[0] = color.getRed();
-                pixels[1] = color.getGreen();
-                pixels[2] = color.getBlue();
-                raster.setPixel(x, y, pixels);
-            }
-        }
-        bufferedImage.setData(raster);
-        icon.setImage(bufferedImage);
+    public static void changeColour(BufferedImage image, Color color){
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
+        int rgb = color.getRGB() & 0x00FFFFFF;
+        for (int i = 0; i < pixels.length; i++) pixels[i] = pixels[i] & 0xFF000000 | rgb;
+        image.setRGB(0, 0, width, height, pixels, 0, width);
     }
 
     /**
@@ -0,0 +1,59 @@
+package com.java.config;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+
+/**
+ * Values that choose the sprite of a piece, except the size of the cells: its shape, its orientation and its
+ * colour. It is a copy taken from the piece, so the sprite can be rendered on another thread while the piece
+ * keeps moving.
+ */
+public class SpriteVariant {
+    /**
+     * Type of the shape of the piece, like "OShape".
+     */
+    private final String type;
+    /**
+     * Number of rotations of the piece.
+     */
+    private final int rotations;
+    /**
+     * True if the piece is flipped on the x-axis.
+     */
+    private final boolean xFlipped;
+    /**
+     * True if the piece is flipped on the y-axis.
+     */
+    private final boolean yFlipped;
+    /**
+     * Color of the piece.
+     */
+    private final Color color;
+
+    /**
+     * Constructor of the SpriteVariant.
+     * @param type type of the shape of the piece, like "OShape"
+     * @param rotations number of rotations of the piece
+     * @param xFlipped true if the piece is flipped on the x-axis
+     * @param yFlipped true if the piece is flipped on the y-axis
+     * @param color color of the piece
+     */
+    public SpriteVariant(String type, int rotations, boolean xFlipped, boolean yFlipped, Color color) {
+        this.type = type;
+        this.rotations = rotations;
+        this.xFlipped = xFlipped;
+        this.yFlipped = yFlipped;
+        this.color = color;
+    }
+
+    /**
+     * Gives the sprite of the variant from the cache of GuiPieceImages, rendering it if needed.
+     * It can be called from any thread.
+     * @param cellSize size of the cells in pixels
+     * @return the sprite, or null if the shape has no image
+     */
+    public BufferedImage render(int cellSize) {
+        return GuiPieceImages.getSprite(type, rotations, xFlipped, yFlipped, color, cellSize);
+    }
+}
@@ -6,6 +6,7 @@ import com.java.piece.decorator.Direction;
 import com.java.piece.decorator.Translation;
 import com.java.config.GuiConfig;
 import com.java.utils.Debug;
+import com.java.geometry.ArenaTransform;
 import com.java.geometry.IntCoordinates;
 import com.java.gui.InstanceManager;
 import com.java.logic.PieceLogic;
@@ -90,10 +91,11 @@ public class PlayerController extends JPanel implements MouseListener, MouseMoti
      */
     public Decorator isMouseOnPiece(MouseEvent e) {
         // Get mouse position in the ArenaPanel
-        IntCoordinates mousePos = new IntCoordinates((e.getX() / guiConfig.CELL_SIZE),
-                e.getY() / guiConfig.CELL_SIZE);
-        IntCoordinates mousePosInWindow = new IntCoordinates(e.getX() % guiConfig.CELL_SIZE,
-                e.getY() % guiConfig.CELL_SIZE);
+        IntCoordinates mousePos = toCell(e);
+        ArenaTransform transform = instanceManager.getArenaTransform();
+        IntCoordinates mousePosInWindow = new IntCoordinates(
+                transform.toOffsetInCellX(e.getX() + transform.getOriginX()),
+                transform.toOffsetInCellY(e.getY() + transform.getOriginY()));
         // Print the mouse position
         Debug.out("Mouse pos: " + mousePosInWindow + " " + mousePos);
         // Initialize the position of the piece
@@ -122,6 +124,17 @@ public class PlayerController extends JPanel implements MouseListener, MouseMoti
         return null;
     }
 
+    /**
+     * Method that gives the cell under the mouse.
+     * @param e MouseEvent of the arena panel, whose top left corner is the origin of the arena transform
+     * @return the coordinates of the cell in the arena
+     */
+    private IntCoordinates toCell(MouseEvent e) {
+        ArenaTransform transform = instanceManager.getArenaTransform();
+        return new IntCoordinates(transform.toCellX(e.getX() + transform.getOriginX()),
+                transform.toCellY(e.getY() + transform.getOriginY()));
+    }
+
     /**
      * Method that gives the direction of the drag.
      * @param newPos new position of the mouse
@@ -155,14 +168,14 @@ public class PlayerController extends JPanel implements MouseListener, MouseMoti
                 for (int k=0; k<4; k++) {
                     if (t.getDirections()[k] && Direction.values()[k] == dragDir) {
                         t.updateDir(Direction.values()[k]);
-                        t.personalAction();
-                        if (t.checkCollision(pieceLogic, instanceManager)) {
-                            t.personalReverseAction();
+                        if (!t.evaluate(pieceLogic, instanceManager.getArena()).isLegal()) {
                             instanceManager.getSoundManager().playCollisionSound();
                             selectedPiece = null;
                             break;
                         } else {
-                            um.addEdit(new Move(t));
+                            t.personalAction();
+                            um.addEdit(new Move(t, pieceLogic));
+                            pieceLogic.pieceMoved(t);
                             instanceManager.incMoves();
                             instanceManager.getSoundManager().playMoveSound();
                             instanceManager.update();
@@ -193,7 +206,7 @@ public class PlayerController extends JPanel implements MouseListener, MouseMoti
     public void mousePressed(MouseEvent e) {
         selectedPiece = isMouseOnPiece(e);
         if (selectedPiece != null) {
-            pressPos = new IntCoordinates((e.getX() / guiConfig.CELL_SIZE), e.getY() / guiConfig.CELL_SIZE);
+            pressPos = toCell(e);
         }
     }
 
@@ -216,7 +229,7 @@ public class PlayerController extends JPanel implements MouseListener, MouseMoti
         if (selectedPiece == null) return;
         Debug.out("piece dragged");
         // get a new position
-        IntCoordinates newPos = new IntCoordinates((e.getX() / guiConfig.CELL_SIZE), e.getY() / guiConfig.CELL_SIZE);
+        IntCoordinates newPos = toCell(e);
         // get drag direction
         Direction dragDir = dragDirection(newPos);
         //slide the piece
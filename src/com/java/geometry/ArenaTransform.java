@@ -0,0 +1,114 @@
+package com.java.geometry;
+
+
+/**
+ * Conversion between the cells of the arena and the pixels of the game panel.
+ * It only keeps the pixel of the top left corner of the arena and the size of the cells, which are updated when
+ * the panels are laid out, so every conversion is a multiplication or a division.
+ */
+public class ArenaTransform {
+    /**
+     * Pixel of the top left corner of the arena on the X-axis.
+     */
+    private int originX;
+    /**
+     * Pixel of the top left corner of the arena on the Y-axis.
+     */
+    private int originY;
+    /**
+     * Size of the cells in pixels.
+     */
+    private int cellSize;
+
+    /**
+     * Constructor of the ArenaTransform.
+     * @param originX pixel of the top left corner of the arena on the X-axis
+     * @param originY pixel of the top left corner of the arena on the Y-axis
+     * @param cellSize size of the cells in pixels
+     */
+    public ArenaTransform(int originX, int originY, int cellSize) {
+        set(originX, originY, cellSize);
+    }
+
+    /**
+     * Updates the transform after the arena has moved or the cells have been resized.
+     * @param originX pixel of the top left corner of the arena on the X-axis
+     * @param originY pixel of the top left corner of the arena on the Y-axis
+     * @param cellSize size of the cells in pixels, at least 1
+     */
+    public void set(int originX, int originY, int cellSize) {
+        if (cellSize <= 0) throw new IllegalArgumentException("The size of the cells must be positive.");
+        this.originX = originX;
+        this.originY = originY;
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * @return the pixel of the top left corner of the arena on the X-axis
+     */
+    public int getOriginX() {
+        return originX;
+    }
+
+    /**
+     * @return the pixel of the top left corner of the arena on the Y-axis
+     */
+    public int getOriginY() {
+        return originY;
+    }
+
+    /**
+     * @return the size of the cells in pixels
+     */
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * @param x column of a cell, it may be outside the arena
+     * @return the pixel of the left side of the column
+     */
+    public int toPixelX(int x) {
+        return originX + x * cellSize;
+    }
+
+    /**
+     * @param y row of a cell, it may be outside the arena
+     * @return the pixel of the top side of the row
+     */
+    public int toPixelY(int y) {
+        return originY + y * cellSize;
+    }
+
+    /**
+     * @param pixelX a pixel on the X-axis
+     * @return the column of the cell containing the pixel, negative on the left of the arena
+     */
+    public int toCellX(int pixelX) {
+        return Math.floorDiv(pixelX - originX, cellSize);
+    }
+
+    /**
+     * @param pixelY a pixel on the Y-axis
+     * @return the row of the cell containing the pixel, negative above the arena
+     */
+    public int toCellY(int pixelY) {
+        return Math.floorDiv(pixelY - originY, cellSize);
+    }
+
+    /**
+     * @param pixelX a pixel on the X-axis
+     * @return the position of the pixel in its cell, from 0 to the size of the cells
+     */
+    public int toOffsetInCellX(int pixelX) {
+        return Math.floorMod(pixelX - originX, cellSize);
+    }
+
+    /**
+     * @param pixelY a pixel on the Y-axis
+     * @return the position of the pixel in its cell, from 0 to the size of the cells
+     */
+    public int toOffsetInCellY(int pixelY) {
+        return Math.floorMod(pixelY - originY, cellSize);
+    }
+}
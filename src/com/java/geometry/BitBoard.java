@@ -0,0 +1,76 @@
+package com.java.geometry;
+
+
+/**
+ * Utility class for the bit masks used to represent cells of the arena.
+ * The arena is at most 7x7, so a set of cells fits in a long with the cell (x, y) at bit y * STRIDE + x.
+ * Rows are 8 bits apart: the 8th column is never playable, so a shape that overflows on the right of a row
+ * lands on this column and is detected as a collision by a single AND.
+ */
+public class BitBoard {
+    /**
+     * Maximum width and height of an arena.
+     */
+    public static final int SIZE = 7;
+    /**
+     * Number of bits between two rows.
+     */
+    public static final int STRIDE = 8;
+    /**
+     * Footprint of a shape placed outside the board, it collides with everything.
+     */
+    public static final long OUTSIDE = -1L;
+
+    /**
+     * @param x coordinates on the X-axis
+     * @param y coordinates on the Y-axis
+     * @return the mask with only the cell (x, y)
+     */
+    public static long bit(int x, int y) {
+        return 1L << (y * STRIDE + x);
+    }
+
+    /**
+     * Converts a matrix of cells into a mask, with matrix[0][0] at bit 0.
+     * @param matrix the cells, indexed as matrix[y][x]
+     * @return the mask of the true cells, 0 if the matrix is null
+     */
+    public static long mask(boolean[][] matrix) {
+        if (matrix == null) return 0;
+        if (matrix.length > STRIDE || (matrix.length > 0 && matrix[0].length > STRIDE)) {
+            throw new IllegalArgumentException("A matrix bigger than " + STRIDE + "x" + STRIDE
+                    + " does not fit in a bit board.");
+        }
+        long mask = 0;
+        for (int i = 0; i < matrix.length; i++) {
+            for (int j = 0; j < matrix[i].length; j++) {
+                if (matrix[i][j]) mask |= bit(j, i);
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Moves a shape mask to a position on the board.
+     * @param shapeMask mask of the shape with its top left corner at bit 0
+     * @param width width of the shape
+     * @param height height of the shape
+     * @param x position of the top left corner of the shape on the X-axis
+     * @param y position of the top left corner of the shape on the Y-axis
+     * @return the mask of the placed shape, or OUTSIDE if the shape does not fit on the board
+     */
+    public static long place(long shapeMask, int width, int height, int x, int y) {
+        if (x < 0 || y < 0 || x + width > STRIDE || y + height > STRIDE) return OUTSIDE;
+        return shapeMask << (y * STRIDE + x);
+    }
+
+    /**
+     * @param mask a set of cells
+     * @param x coordinates on the X-axis
+     * @param y coordinates on the Y-axis
+     * @return true if the cell (x, y) is in the set
+     */
+    public static boolean contains(long mask, int x, int y) {
+        return x >= 0 && y >= 0 && x < STRIDE && y < STRIDE && (mask & bit(x, y)) != 0;
+    }
+}
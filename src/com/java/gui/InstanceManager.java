@@ -1,25 +1,27 @@
 package com.java.gui;
 
+import com.java.config.DecoratorIcons;
 import com.java.config.GuiConfig;
-import com.java.config.GuiPieceImages;
 import com.java.config.LogicConstants;
+import com.java.config.SpriteVariant;
 import com.java.controllers.PlayerController;
-import com.java.geometry.IntCoordinates;
+import com.java.geometry.ArenaTransform;
 import com.java.gui.UI.Launcher;
 import com.java.gui.UI.LevelTransitionPanel;
 import com.java.gui.gamePlay.*;
 import com.java.gui.sound.SoundManager;
 import com.java.logic.Arena;
-import com.java.logic.LevelManager;
 import com.java.logic.PieceLogic;
-import com.java.piece.Target;
-import com.java.piece.decorator.Decorator;
+import com.java.logic.ProgressStore;
+import com.java.solver.DistanceTable;
+import com.java.solver.LevelModel;
 import com.java.utils.Debug;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
+import java.util.List;
 
 
 /**
@@ -51,6 +53,14 @@ public class InstanceManager {
      * Layered pane that contains the game panel and the level transition panel.
      */
     private final JLayeredPane layeredPane = new JLayeredPane();
+    /**
+     * Time without resize events after which the window is considered resized, in milliseconds.
+     */
+    private static final int RESIZE_SETTLE_MILLIS = 150;
+    /**
+     * Timer restarted by each resize event, it rescales the sprites once the window has stopped being resized.
+     */
+    private final Timer resizeSettler = new Timer(RESIZE_SETTLE_MILLIS, e -> rescaleSprites());
     /**
      * Piece logic of the game, where the pieces are stocked.
      */
@@ -87,6 +97,14 @@ public class InstanceManager {
      * Minimum number of moves to complete the level.
      */
     private int minNumMoves ;
+    /**
+     * Distance to win of every state of the level, null if the table of the level has not been built.
+     */
+    private DistanceTable distanceTable;
+    /**
+     * Model of the level used to look up the current state in the distance table.
+     */
+    private LevelModel levelModel;
 
     /**
      * Constructor of the InstanceManager.
@@ -128,14 +146,20 @@ public class InstanceManager {
     public void start(int level) {
         // Initialize the level and the player controller
         this.level = level;
+        // Get the logic of the level, usually built in the background during the previous level
+        PreparedLevel prepared = LevelPrefetcher.take(level);
         // Get the minimum move for the level
-        this.minNumMoves = LevelManager.NumMovesFromJson(level);
+        this.minNumMoves = prepared.getMinNumMoves();
+        this.distanceTable = prepared.getDistanceTable();
+        this.levelModel = prepared.getLevelModel();
         // Initialize the player controller
         playerController = new PlayerController(this, pieceLogic, guiConfig);
         // Initialize the arena
-        this.arena = new Arena(this);
-        // ! YOU MUST PRELOAD IMAGES EARLIER THAN LOADING THE MODELS OF THE PIECES.
-        GuiPieceImages.preLoadImages();
+        this.arena = prepared.getArena();
+        // Scale the icons of the decorators for the size of the cells
+        DecoratorIcons.scaleTo(guiConfig.CELL_SIZE);
+        // Add the pieces and the targets of the level, before the game panel that draws them
+        prepared.moveTo(this.pieceLogic);
         // Initialize the game panel
         this.gamePanel = new GamePanel(pieceLogic, this);
         playerController.startController(gamePanel.getArenaPanel());
@@ -149,19 +173,8 @@ public class InstanceManager {
         mainFrame.add(layeredPane);
         mainFrame.setVisible(true);
 
-        // !MUST BE DONE AFTER IMAGE PRELOAD, see com.java.config.GuiPieceImages.java
-        // Load the pieces from the json file
-        LevelManager.loadPiecesFromJson(this.pieceLogic, level);
-
-        // paint the targets before the pieces so that the pieces are drawn on top
-        for (Target target : this.pieceLogic.getTargets()) {
-            new GuiTarget(this, target);
-        }
-        // paint the pieces on the game
-        for (Decorator piece : this.pieceLogic.getPieces()) {
-            new GuiPiece(this, piece);
-        }
-        // Listener for resizing the window
+        // Listener for resizing the window, the sprites are rescaled once the events stop
+        resizeSettler.setRepeats(false);
         this.mainFrame.addComponentListener(new ComponentAdapter() {
             /**
              * Invoked when the component's size changes. This method is used to update the size of the arena.
@@ -173,38 +186,55 @@ public class InstanceManager {
                 guiConfig.height = mainFrame.getHeight() - getGamePanel().getBottomPanel().getHeight()/2;
                 guiConfig.updateArenaScale();
 
-                for (Cell[] cells : gamePanel.getArenaPanel().getCells())
-                    for (Cell cell : cells) cell.updateCell();
+                // only the layout follows each event, the previous frame is stretched until the resize ends
+                gamePanel.beginPreview();
+                gamePanel.getArenaPanel().updateSize();
                 gamePanel.setBounds(0, 0, guiConfig.width, guiConfig.height);
                 levelTransitionPanel.setBounds(0, 0, guiConfig.width, guiConfig.height);
                 if (!isTransitioning()){
                     levelTransitionPanel.setLocation(guiConfig.width, 0);
                 }
+                resizeSettler.restart();
             }
         });
         levelTransitionPanel.animationOnStart(this);
         Debug.out("NumMoves: " + numMoves + " minNumMoves: " + minNumMoves);
+        // Build the next level while this one is played
+        LevelPrefetcher.prefetch(level + 1);
     }
 
     /**
-     * returns the pixel coordinates of the cell relative to the top left of the window.
-     * @param cellCoords Coordinates of the cell int the game
-     * @return IntCoordinates of the cell in pixels
+     * Scales the sprites and the icons for the new size of the cells in the background, then ends the preview of
+     * the resize. Nothing is swapped in if the window has been resized again in the meantime.
+     * If the scaling fails, the preview is ended anyway and the images are scaled when they are painted.
+     */
+    private void rescaleSprites() {
+        int cellSize = guiConfig.CELL_SIZE;
+        GamePanel resized = gamePanel;
+        // the pieces are read here, the background thread only gets copies of their variants
+        List<SpriteVariant> variants = resized.getSpriteVariants();
+        SpriteRescaler.rescale(variants, cellSize).whenComplete((icons, error) -> SwingUtilities.invokeLater(() -> {
+            if (error != null) {
+                System.out.println("ERROR RESCALING THE SPRITES");
+                System.out.println("ERROR: " + error.getMessage());
+                resized.endPreview();
+                return;
+            }
+            if (resizeSettler.isRunning() || cellSize != guiConfig.CELL_SIZE || resized != gamePanel) return;
+            DecoratorIcons.install(cellSize, icons);
+            resized.endPreview();
+        }));
+    }
+
+    /**
+     * @return the minimal number of moves to win from the current state, or -1 if it is not known
      */
-    public IntCoordinates getPixelCoordinates(IntCoordinates cellCoords) {
-        ArenaPanel arenaPanel = this.getGamePanel().getArenaPanel();
-        ArenaContainerPanel arenaContainerPanel = this.getGamePanel().getArenaContainerPanel();
+    public int getMovesToWin() {
+        if (distanceTable == null) return DistanceTable.UNKNOWN;
         try {
-            Cell[][] cells = arenaPanel.getCells();
-            Cell cell = cells[cellCoords.getY()][cellCoords.getX()];
-
-            int xOffSet = arenaContainerPanel.getX() + arenaPanel.getX();
-            int yOffSet = arenaContainerPanel.getY() + arenaPanel.getY();
-
-            return new IntCoordinates(cell.getX() + xOffSet, cell.getY() + yOffSet);
-        } catch (Exception e) {
-            Debug.out("Error in getPixelCoordinates : " + e.getMessage());
-            return new IntCoordinates(-100, 0);
+            return distanceTable.getDistance(levelModel.encode(pieceLogic));
+        } catch (IllegalArgumentException e) {
+            return DistanceTable.UNKNOWN;
         }
     }
 
@@ -213,11 +243,14 @@ public class InstanceManager {
     */
     public void update() {
         gamePanel.update();
+        // encoding the state and reading the table is only worth it when it is printed
+        if (Debug.isDebugging()) Debug.out("Moves to win: " + getMovesToWin());
 
         if (pieceLogic.checkWin()) {
             playerController.stopController(gamePanel.getArenaPanel());
             soundManager.playNote();
-            LevelManager.unlockLevel(level);
+            // Saved in the background, the animation does not wait for the disk
+            ProgressStore.get().recordWin(level, numMoves, rating());
             Debug.out("Result : " + rating() + " stars!");
             levelTransitionPanel.showRating(rating(), layeredPane, guiConfig);
             levelTransitionPanel.animationAtEnd(this);
@@ -260,6 +293,7 @@ public class InstanceManager {
      * Method used to clear the GUI.
      */
     private void clear(){
+        resizeSettler.stop();
         this.pieceLogic.clearPieces();
         this.pieceLogic.clearTargets();
         // close window
@@ -292,6 +326,13 @@ public class InstanceManager {
         return levelTransitionPanel.isTransitioning();
     }
 
+    /**
+     * @return the transform from the cells of the arena to the pixels of the game panel
+     */
+    public ArenaTransform getArenaTransform() {
+        return gamePanel.getArenaTransform();
+    }
+
     /**
      * @return the game panel
      */
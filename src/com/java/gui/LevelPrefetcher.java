@@ -0,0 +1,74 @@
+package com.java.gui;
+
+import com.java.config.Assets;
+import com.java.config.LogicConstants;
+import com.java.logic.LevelCatalog;
+import com.java.logic.LevelDefinition;
+import com.java.logic.PieceDefinition;
+import com.java.utils.Debug;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+
+/**
+ * Builds the logic of the next level in the background while the current one is played,
+ * so that the transition only has to create the GUI of a level that is already loaded.
+ */
+public class LevelPrefetcher {
+    /**
+     * Thread building the levels, it never prevents the game from exiting.
+     */
+    private static final ExecutorService builder = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "level-prefetcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /**
+     * Levels being built or built, by id. Each one is given to a single game.
+     */
+    private static final Map<Integer, CompletableFuture<PreparedLevel>> levels = new ConcurrentHashMap<>();
+
+    /**
+     * Starts building a level in the background, if it exists and is not already being built.
+     * The images of its pieces are decoded at the same time.
+     * @param level id of the level
+     */
+    public static void prefetch(int level) {
+        if (level < 0 || level >= LogicConstants.NUMBER_OF_LEVELS) return;
+        levels.computeIfAbsent(level, l -> CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            LevelDefinition definition = LevelCatalog.get().getLevel(l);
+            if (definition != null) {
+                for (PieceDefinition piece : definition.getPieces()) {
+                    Assets.image("shapes/" + piece.getShape() + ".png");
+                }
+            }
+            PreparedLevel prepared = new PreparedLevel(l);
+            Debug.out(String.format("Level %d prefetched in %.2f ms", l, (System.nanoTime() - start) / 1e6));
+            return prepared;
+        }, builder));
+    }
+
+    /**
+     * Gives the logic of a level: the prefetched one if there is one, waiting for it if it is still being built,
+     * otherwise it is built now.
+     * @param level id of the level
+     * @return the logic of the level, it belongs to the caller
+     */
+    public static PreparedLevel take(int level) {
+        CompletableFuture<PreparedLevel> future = levels.remove(level);
+        if (future != null) {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                Debug.out("The prefetch of the level " + level + " failed : " + e.getCause());
+            }
+        }
+        return new PreparedLevel(level);
+    }
+}
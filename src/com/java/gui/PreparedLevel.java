@@ -0,0 +1,126 @@
+package com.java.gui;
+
+import com.java.logic.Arena;
+import com.java.logic.LevelManager;
+import com.java.logic.PieceLogic;
+import com.java.piece.Target;
+import com.java.piece.decorator.Decorator;
+import com.java.solver.DistanceTable;
+import com.java.solver.LevelModel;
+import com.java.utils.Debug;
+
+import java.io.UncheckedIOException;
+
+
+/**
+ * Logic of a level built before it is played: its arena, its pieces and targets, its minimum number of moves
+ * and its distance table. Nothing in it touches Swing, so it can be built on any thread.
+ * It is used once: its pieces are moved into the PieceLogic of the InstanceManager that plays the level.
+ */
+public class PreparedLevel {
+    /**
+     * Id of the level.
+     */
+    private final int level;
+    /**
+     * Arena of the level.
+     */
+    private final Arena arena;
+    /**
+     * Pieces and targets of the level, until they are moved to the game.
+     */
+    private final PieceLogic pieceLogic = new PieceLogic();
+    /**
+     * Minimum number of moves to complete the level.
+     */
+    private int minNumMoves;
+    /**
+     * Distance to win of every state of the level, null if the table of the level has not been built.
+     */
+    private DistanceTable distanceTable;
+    /**
+     * Model of the level used to look up the states in the distance table.
+     */
+    private LevelModel levelModel;
+
+    /**
+     * Builds the logic of a level.
+     * @param level id of the level
+     */
+    public PreparedLevel(int level) {
+        this.level = level;
+        this.minNumMoves = LevelManager.NumMovesFromJson(level);
+        this.arena = new Arena(level);
+        LevelManager.loadPiecesFromJson(pieceLogic, level);
+        loadDistanceTable();
+    }
+
+    /**
+     * Opens the distance table of the level, if it has been built with the distanceTables task.
+     * The minimum number of moves then comes from the table instead of levels.json.
+     */
+    private void loadDistanceTable() {
+        try {
+            DistanceTable table = DistanceTable.open(level);
+            if (table == null) return;
+            LevelModel model = new LevelModel(arena, pieceLogic);
+            if (table.getInitialState() != model.getInitialState()) {
+                Debug.out("The distance table of the level " + level + " is outdated.");
+                return;
+            }
+            this.distanceTable = table;
+            this.levelModel = model;
+            int distance = table.getDistance(model.getInitialState());
+            if (distance != DistanceTable.UNKNOWN) this.minNumMoves = distance;
+        } catch (IllegalArgumentException | IllegalStateException | UncheckedIOException e) {
+            Debug.out("Could not use the distance table of the level " + level + " : " + e.getMessage());
+        }
+    }
+
+    /**
+     * Moves the pieces and the targets of the level into the PieceLogic of the game.
+     * The level cannot be used again afterwards.
+     * @param target the PieceLogic of the game, it must be empty
+     */
+    public void moveTo(PieceLogic target) {
+        for (Decorator piece : pieceLogic.getPieces()) target.addPiece(piece);
+        for (Target t : pieceLogic.getTargets()) target.addTarget(t);
+        pieceLogic.clearPieces();
+        pieceLogic.clearTargets();
+    }
+
+    /**
+     * @return the id of the level
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * @return the arena of the level
+     */
+    public Arena getArena() {
+        return arena;
+    }
+
+    /**
+     * @return the minimum number of moves to complete the level
+     */
+    public int getMinNumMoves() {
+        return minNumMoves;
+    }
+
+    /**
+     * @return the distance table of the level, or null if it has not been built
+     */
+    public DistanceTable getDistanceTable() {
+        return distanceTable;
+    }
+
+    /**
+     * @return the model of the level used with the distance table, or null if there is no table
+     */
+    public LevelModel getLevelModel() {
+        return levelModel;
+    }
+}
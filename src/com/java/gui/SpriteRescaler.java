@@ -0,0 +1,47 @@
+package com.java.gui;
+
+import com.java.config.DecoratorIcons;
+import com.java.config.SpriteVariant;
+import com.java.utils.Debug;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+
+/**
+ * Renders the sprites of the pieces and the icons of the decorators for a new size of cells in the background,
+ * once the window has stopped being resized, so that the game keeps painting its preview while they are scaled.
+ */
+public class SpriteRescaler {
+    /**
+     * Thread scaling the images, it never prevents the game from exiting.
+     */
+    private static final ExecutorService rescaler = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "sprite-rescaler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Starts scaling the images of a game for a size of cells. The sprites of the pieces go to the cache of
+     * GuiPieceImages, the icons of the decorators are given back to be installed on the event dispatch thread.
+     * @param variants variants of the sprites of the pieces, taken on the event dispatch thread
+     * @param cellSize size of the cells in pixels
+     * @return the icons of the decorators scaled for the size, to give to DecoratorIcons.install
+     */
+    public static CompletableFuture<Map<String, BufferedImage>> rescale(List<SpriteVariant> variants,
+                                                                        int cellSize) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            for (SpriteVariant variant : variants) variant.render(cellSize);
+            Map<String, BufferedImage> icons = DecoratorIcons.render(cellSize);
+            Debug.out(String.format("Sprites rescaled to %d px in %.2f ms", cellSize,
+                    (System.nanoTime() - start) / 1e6));
+            return icons;
+        }, rescaler);
+    }
+}
@@ -1,15 +1,13 @@
 package com.java.gui.UI;
 
+import com.java.config.Assets;
 import com.java.config.Colours;
-import com.java.config.GuiConfig;
 import com.java.gui.GameWindow;
 import com.java.gui.sound.SoundManager;
 
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.File;
 
 
 /**
@@ -73,7 +71,7 @@ public class Launcher {
             soundManager.playOST();
 
             try {
-                BufferedImage bufferedImage = ImageIO.read(new File(GuiConfig.resPath + "icons/titleImage.png"));
+                BufferedImage bufferedImage = Assets.getImage("icons/titleImage.png");
                 JLabel titleImage = new JLabel(new ImageIcon(bufferedImage));
                 int marginHeightBetweenUpAndImage = 50;
                 this.add(Box.createVerticalStrut(marginHeightBetweenUpAndImage));
@@ -91,8 +89,7 @@ public class Launcher {
             Font buttonFont;
 
             try{
-                File file = new File(GuiConfig.resPath + "fonts/Lentariso-Bd.ttf");
-                buttonFont = Font.createFont(Font.TRUETYPE_FONT, file).deriveFont(Font.BOLD,18f);
+                buttonFont = Assets.getFont("fonts/Lentariso-Bd.ttf").deriveFont(Font.BOLD,18f);
             }
             catch (Exception e) {
                 System.out.println("Error in LauncherPanel: \nFont not found, file either not found or doesn't exist.");
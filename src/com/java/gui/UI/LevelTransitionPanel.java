@@ -1,18 +1,33 @@
 package com.java.gui.UI;
 
+import com.java.config.Assets;
 import com.java.config.Colours;
 import com.java.config.GuiConfig;
 import com.java.gui.InstanceManager;
+import com.java.gui.animation.Animation;
+import com.java.gui.animation.Easing;
+import com.java.gui.animation.FrameClock;
 import com.java.utils.Debug;
 
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import java.awt.image.BufferedImage;
-import java.io.File;
 
 
 public class LevelTransitionPanel extends JPanel{
 
+    /**
+     * Duration of the slide of the panel out of the window at the start of a level, in milliseconds.
+     */
+    private static final long SLIDE_OUT_MILLIS = 270;
+    /**
+     * Duration of the slide of the panel over the window at the end of a level, in milliseconds.
+     */
+    private static final long SLIDE_IN_MILLIS = 200;
+    /**
+     * Time the rating is shown before the next level, in milliseconds.
+     */
+    private static final long RATING_MILLIS = 1000;
+
     /**
      * Boolean that indicates if the panel is transitioning
      */
@@ -34,52 +49,28 @@ public class LevelTransitionPanel extends JPanel{
     public void animationOnStart(InstanceManager iManager) {
         isTransitioning = true;
         iManager.getSoundManager().playNote();
-        Timer timer = new Timer(10, null);
-        timer.addActionListener(e -> {
-            int x = LevelTransitionPanel.this.getLocation().x;
-            x += 30;
-            if (x >= GuiConfig.WINDOW_WIDTH) {
-                x = GuiConfig.WINDOW_WIDTH;
-                isTransitioning = false;
-                LevelTransitionPanel.this.setVisible(false);
-                iManager.update();
-                timer.stop();
-            }
-            LevelTransitionPanel.this.setLocation(x, 0);
-        });
-        timer.start();
-
+        int startX = getLocation().x;
+        FrameClock.get().start(new Animation(SLIDE_OUT_MILLIS, Easing.EASE_IN_OUT,
+                progress -> setLocation(startX + (int) ((GuiConfig.WINDOW_WIDTH - startX) * progress), 0),
+                () -> {
+                    isTransitioning = false;
+                    setVisible(false);
+                    iManager.update();
+                }));
     }
 
     /**
      * Method that animates the panel when the level is completed
      * It moves the panel to the left to the center of the screen
-     * Then it waits for 0.2 seconds and calls the next level
+     * Then it waits for 1 second and calls the next level
      */
     public void animationAtEnd(InstanceManager iManager) {
         setLocation(-GuiConfig.WINDOW_WIDTH, 0);
         setVisible(true);
-
-
-        Timer timer1 = new Timer(10, null);
-        timer1.addActionListener(e -> {
-            int x = getLocation().x;
-            x += 40;
-            if (x >= 0) {
-                x = 0;
-                timer1.stop();
-
-                Timer timer2 = new Timer(1000, null);
-                timer2.addActionListener(e1 -> {
-                    timer2.stop();
-                    iManager.nextLevel();
-                });
-                timer2.setRepeats(false);
-                timer2.start();
-            }
-            setLocation(x, 0);
-        });
-        timer1.start();
+        FrameClock.get().start(new Animation(SLIDE_IN_MILLIS, Easing.EASE_OUT,
+                progress -> setLocation((int) (-GuiConfig.WINDOW_WIDTH * (1 - progress)), 0),
+                // the delay runs on the same clock, the next level is loaded once it ends
+                () -> FrameClock.get().start(Animation.delay(RATING_MILLIS, iManager::nextLevel))));
     }
 
     /**
@@ -92,40 +83,12 @@ public class LevelTransitionPanel extends JPanel{
 
     public void showRating(int rating, JLayeredPane layeredPane, GuiConfig guiConfig) {
         BufferedImage starsImage = null;
-        switch (rating) {
-            case 0:
-                try{
-                    starsImage = ImageIO.read(new File(GuiConfig.resPath + "icons/0stars.png"));
-                }
-                catch (Exception e){
-                    Debug.out("Error loading stars image");
-                }
-                break;
-            case 1:
-                try{
-                    starsImage = ImageIO.read(new File(GuiConfig.resPath + "icons/1stars.png"));
-                }
-                catch (Exception e){
-                    Debug.out("Error loading stars image");
-                }
-                break;
-            case 2:
-                try{
-                    starsImage = ImageIO.read(new File(GuiConfig.resPath + "icons/2stars.png"));
-                }
-                catch (Exception e){
-                    Debug.out("Error loading stars image");
-                }
-                break;
-            case 3:
-                try{
-                    starsImage = ImageIO.read(new File(GuiConfig.resPath + "icons/3stars.png"));
-                }
-                catch (Exception e){
-                    Debug.out("Error loading stars image");
-                }
-                break;
-
+        try{
+            // Decoded in the background since the start of the game
+            starsImage = Assets.getImage("icons/" + rating + "stars.png");
+        }
+        catch (Exception e){
+            Debug.out("Error loading stars image");
         }
         assert starsImage != null;
         JLabel starsLabel = new JLabel(new ImageIcon(starsImage));
@@ -8,7 +8,6 @@ import java.awt.GridBagConstraints;
 import java.awt.GridBagLayout;
 import java.awt.Insets;
 import java.awt.Point;
-import java.io.File;
 
 import javax.swing.Box;
 import javax.swing.BoxLayout;
@@ -16,6 +15,7 @@ import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 
+import com.java.config.Assets;
 import com.java.config.Colours;
 import com.java.config.GuiConfig;
 import com.java.gui.GameWindow;
@@ -107,9 +107,9 @@ public class SelectLevelMenu {
             Font titleFont;
 
             try{
-                File fontFile = new File(GuiConfig.resPath + "fonts/Lentariso-Bd.ttf");
-                buttonFont = Font.createFont(Font.TRUETYPE_FONT, fontFile).deriveFont(Font.BOLD,30f);
-                titleFont = Font.createFont(Font.TRUETYPE_FONT, fontFile).deriveFont(Font.BOLD, 50f);
+                Font font = Assets.getFont("fonts/Lentariso-Bd.ttf");
+                buttonFont = font.deriveFont(Font.BOLD,30f);
+                titleFont = font.deriveFont(Font.BOLD, 50f);
             }
             catch (Exception e) {
                 System.out.println("Error in TopPanel: \nFont not found, file either not found or doesn't exist.");
@@ -1,12 +1,12 @@
 package com.java.gui.UI;
 
+import com.java.config.Assets;
 import com.java.config.Colours;
 import com.java.config.GuiConfig;
 import com.java.gui.InstanceManager;
 
 import javax.swing.*;
 import java.awt.*;
-import java.io.File;
 
 /**
  This panel contains the return to main menu button as well as the label
@@ -39,9 +39,9 @@ public class TopPanel extends JPanel{
         Font subTitleFont;
 
         try{
-            File fontFile = new File(GuiConfig.resPath + "fonts/Lentariso-Bd.ttf");
-            titleFont = Font.createFont(Font.TRUETYPE_FONT, fontFile).deriveFont(Font.BOLD, 30f);
-            subTitleFont = Font.createFont(Font.TRUETYPE_FONT, fontFile).deriveFont(Font.BOLD, 14f);
+            Font font = Assets.getFont("fonts/Lentariso-Bd.ttf");
+            titleFont = font.deriveFont(Font.BOLD, 30f);
+            subTitleFont = font.deriveFont(Font.BOLD, 14f);
         }
         catch (Exception e) {
             System.out.println("Error in TopPanel: \nFont not found, file either not found or doesn't exist.");
@@ -0,0 +1,106 @@
+package com.java.gui.animation;
+
+
+/**
+ * Animation run by the FrameClock: at each frame, its step is given the progress matching the time elapsed
+ * since its start. A late frame therefore moves the animation further instead of being queued behind the others,
+ * and the animation always lasts its duration.
+ */
+public class Animation {
+    /**
+     * Action applied at each frame of an animation.
+     */
+    @FunctionalInterface
+    public interface Step {
+        /**
+         * @param progress progress of the animation after its easing, 0 at the start and 1 at the end
+         */
+        void apply(double progress);
+    }
+
+    /**
+     * Duration of the animation, in nanoseconds.
+     */
+    private final long durationNanos;
+    /**
+     * Curve of the progress of the animation.
+     */
+    private final Easing easing;
+    /**
+     * Action applied at each frame.
+     */
+    private final Step step;
+    /**
+     * Action run once the animation has ended, may be null.
+     */
+    private final Runnable onEnd;
+    /**
+     * Time of the start of the animation, from System.nanoTime().
+     */
+    private long start;
+    /**
+     * True once the animation has ended.
+     */
+    private boolean ended = false;
+
+    /**
+     * Constructor of the Animation.
+     * @param durationMillis duration of the animation, in milliseconds
+     * @param easing curve of the progress of the animation
+     * @param step action applied at each frame
+     * @param onEnd action run once the animation has ended, may be null
+     */
+    public Animation(long durationMillis, Easing easing, Step step, Runnable onEnd) {
+        this.durationNanos = Math.max(0, durationMillis) * 1_000_000;
+        this.easing = easing;
+        this.step = step;
+        this.onEnd = onEnd;
+    }
+
+    /**
+     * Animation doing nothing during its duration, used to wait before an action.
+     * @param delayMillis time to wait, in milliseconds
+     * @param action action run after the delay
+     * @return the animation
+     */
+    public static Animation delay(long delayMillis, Runnable action) {
+        return new Animation(delayMillis, Easing.LINEAR, progress -> { }, action);
+    }
+
+    /**
+     * Starts the animation, its first frame is applied immediately.
+     * @param now current time, from System.nanoTime()
+     */
+    void begin(long now) {
+        start = now;
+        step.apply(easing.ease(0));
+    }
+
+    /**
+     * Applies the frame of the animation matching a time.
+     * @param now current time, from System.nanoTime()
+     * @return true if the animation has reached its end
+     */
+    boolean update(long now) {
+        double t = durationNanos == 0 ? 1 : Math.min(1, (now - start) / (double) durationNanos);
+        step.apply(easing.ease(t));
+        return t >= 1;
+    }
+
+    /**
+     * Ends the animation: its last frame is applied if it was not, then the end action is run once.
+     */
+    void end() {
+        if (ended) return;
+        ended = true;
+        step.apply(1);
+        if (onEnd != null) onEnd.run();
+    }
+
+    /**
+     * @return true once the animation has ended
+     */
+    public boolean isEnded() {
+        return ended;
+    }
+}
@@ -0,0 +1,28 @@
+package com.java.gui.animation;
+
+
+/**
+ * Curve giving the progress of an animation from the fraction of its duration already elapsed.
+ * Both go from 0 to 1, and every curve starts at 0 and ends at 1.
+ */
+@FunctionalInterface
+public interface Easing {
+    /**
+     * Constant speed.
+     */
+    Easing LINEAR = t -> t;
+    /**
+     * Starts fast and slows down at the end.
+     */
+    Easing EASE_OUT = t -> 1 - (1 - t) * (1 - t) * (1 - t);
+    /**
+     * Speeds up, then slows down at the end.
+     */
+    Easing EASE_IN_OUT = t -> t < 0.5 ? 4 * t * t * t : 1 - Math.pow(-2 * t + 2, 3) / 2;
+
+    /**
+     * @param t fraction of the duration elapsed, from 0 to 1
+     * @return the progress of the animation, from 0 to 1
+     */
+    double ease(double t);
+}
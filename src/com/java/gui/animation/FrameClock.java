@@ -0,0 +1,171 @@
+package com.java.gui.animation;
+
+import com.java.utils.Debug;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Single clock of all the animations of the game, the pieces as well as the level transitions.
+ * It ticks on the event dispatch thread at the refresh rate of the screen, only while an animation runs.
+ * Each frame gives every animation the progress matching the current time: when the game is slow, the ticks
+ * are merged by the Swing timer and the animations skip the missed frames instead of falling behind.
+ * The clock must only be used on the event dispatch thread.
+ */
+public class FrameClock {
+    /**
+     * Refresh rate used when the one of the screen is unknown, in frames per second.
+     */
+    private static final int DEFAULT_REFRESH_RATE = 60;
+    /**
+     * Clock shared by the whole game, null until it is first used.
+     */
+    private static FrameClock shared;
+
+    /**
+     * Timer ticking the frames.
+     */
+    private final Timer timer;
+    /**
+     * Expected time between two frames, in nanoseconds.
+     */
+    private final long frameNanos;
+    /**
+     * Running animations.
+     */
+    private final List<Animation> animations = new ArrayList<>();
+    /**
+     * Animations updated by the current frame, reused at each frame.
+     */
+    private final List<Animation> updated = new ArrayList<>();
+    /**
+     * Time of the last frame, from System.nanoTime().
+     */
+    private long lastFrame;
+    /**
+     * Number of frames since the clock was created.
+     */
+    private long frames = 0;
+    /**
+     * Number of frames skipped because the game was too slow.
+     */
+    private long droppedFrames = 0;
+    /**
+     * Moving average of the time between two frames, in nanoseconds.
+     */
+    private double averageFrameNanos = 0;
+
+    /**
+     * Constructor of the FrameClock.
+     * @param refreshRate number of frames per second
+     */
+    public FrameClock(int refreshRate) {
+        this.frameNanos = 1_000_000_000L / refreshRate;
+        this.timer = new Timer(Math.max(1, 1000 / refreshRate), e -> tick());
+        // late ticks are merged, never queued
+        this.timer.setCoalesce(true);
+    }
+
+    /**
+     * @return the clock shared by the whole game, ticking at the refresh rate of the screen
+     */
+    public static FrameClock get() {
+        if (shared == null) shared = new FrameClock(refreshRate());
+        return shared;
+    }
+
+    /**
+     * @return the refresh rate of the main screen, or DEFAULT_REFRESH_RATE if it is unknown
+     */
+    private static int refreshRate() {
+        if (GraphicsEnvironment.isHeadless()) return DEFAULT_REFRESH_RATE;
+        int rate = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDisplayMode()
+                .getRefreshRate();
+        return rate == DisplayMode.REFRESH_RATE_UNKNOWN ? DEFAULT_REFRESH_RATE : rate;
+    }
+
+    /**
+     * Starts an animation, its first frame is applied immediately.
+     * @param animation the animation to start
+     */
+    public void start(Animation animation) {
+        long now = System.nanoTime();
+        animation.begin(now);
+        animations.add(animation);
+        if (!timer.isRunning()) {
+            lastFrame = now;
+            timer.start();
+        }
+    }
+
+    /**
+     * Ends an animation immediately, its last frame is applied and its end action is run.
+     * @param animation the animation to end, nothing is done if it is not running
+     */
+    public void finish(Animation animation) {
+        if (animations.remove(animation)) animation.end();
+    }
+
+    /**
+     * Applies a frame to every running animation.
+     */
+    private void tick() {
+        long now = System.nanoTime();
+        long elapsed = now - lastFrame;
+        lastFrame = now;
+        frames++;
+        if (elapsed > frameNanos * 3 / 2) droppedFrames += elapsed / frameNanos - 1;
+        averageFrameNanos = averageFrameNanos == 0 ? elapsed : averageFrameNanos * 0.9 + elapsed * 0.1;
+
+        // the end actions may start other animations, they get their first frame at the next tick
+        updated.addAll(animations);
+        for (Animation animation : updated) {
+            // an end action may have finished an animation of the snapshot, its last frame is already applied
+            if (animation.isEnded()) continue;
+            if (animation.update(now)) {
+                animations.remove(animation);
+                animation.end();
+            }
+        }
+        updated.clear();
+        // send the frame to the screen now rather than when the window system decides to
+        Toolkit.getDefaultToolkit().sync();
+
+        if (animations.isEmpty()) {
+            timer.stop();
+            Debug.out(String.format("Frame clock idle: %d frames, %d dropped, %.1f ms per frame", frames,
+                    droppedFrames, averageFrameNanos / 1e6));
+        }
+    }
+
+    /**
+     * @return true while an animation is running
+     */
+    public boolean isRunning() {
+        return !animations.isEmpty();
+    }
+
+    /**
+     * @return the expected time between two frames, in nanoseconds
+     */
+    public long getFrameNanos() {
+        return frameNanos;
+    }
+
+    /**
+     * @return the number of frames skipped because the game was too slow
+     */
+    public long getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    /**
+     * @return the moving average of the time between two frames, in nanoseconds
+     */
+    public double getAverageFrameNanos() {
+        return averageFrameNanos;
+    }
+}
@@ -1,8 +1,10 @@
 package com.java.gui.gamePlay;
 
+import com.java.geometry.ArenaTransform;
 import com.java.gui.InstanceManager;
 
 import javax.swing.*;
+import java.util.List;
 
 
 /**
@@ -13,18 +15,53 @@ public class ArenaContainerPanel extends JPanel {
      * Panel that contains the game area.
      */
     private final ArenaPanel arenaPanel;
+    /**
+     * Instance manager of the game.
+     */
+    private final InstanceManager instanceManager;
+    /**
+     * Transform from the cells of the arena to the pixels of the game panel, updated at each layout.
+     */
+    private final ArenaTransform arenaTransform;
 
     /**
      * Constructor of the ArenaContainerPanel, it initializes the attributes and sets the background color.
      * @param instanceManager Instance manager of the game we need to link to the player controller
+     * @param guiTargets targets of the level, drawn on the arena
      */
-    public ArenaContainerPanel(InstanceManager instanceManager) {
+    public ArenaContainerPanel(InstanceManager instanceManager, List<GuiTarget> guiTargets) {
         super();
+        this.instanceManager = instanceManager;
         this.setBackground(com.java.config.Colours.BACKGROUND);
-        this.arenaPanel = new ArenaPanel(instanceManager);
+        this.arenaTransform = new ArenaTransform(0, 0, instanceManager.getGuiConfig().CELL_SIZE);
+        this.arenaPanel = new ArenaPanel(instanceManager, guiTargets);
         this.add(arenaPanel);
     }
 
+    /**
+     * Lays out the arena and updates the transform to its new position.
+     */
+    @Override
+    public void doLayout() {
+        super.doLayout();
+        updateTransform();
+    }
+
+    /**
+     * Updates the transform to the position of the arena in the game panel and to the size of the cells.
+     */
+    public void updateTransform() {
+        arenaTransform.set(this.getX() + arenaPanel.getX(), this.getY() + arenaPanel.getY(),
+                instanceManager.getGuiConfig().CELL_SIZE);
+    }
+
+    /**
+     * @return the transform from the cells of the arena to the pixels of the game panel
+     */
+    public ArenaTransform getArenaTransform() {
+        return arenaTransform;
+    }
+
     /**
      * @return Returns the arena panel
      */
@@ -1,65 +1,156 @@
 package com.java.gui.gamePlay;
 
 import com.java.config.Colours;
+import com.java.config.GuiConfig;
+import com.java.geometry.ArenaTransform;
 import com.java.gui.InstanceManager;
+import com.java.utils.Debug;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.image.VolatileImage;
+import java.util.List;
 
 
 /**
  * class that represents the panel that displays the 7x7 grid of cells that the game is played on.
+ * The cells, their shadows and the targets never change during a level, so they are drawn once in an image
+ * that is copied at each paint. The image is drawn again only when the size of the cells changes, or once the
+ * window has stopped being resized: during a resize, the previous image is stretched to the new size instead.
  */
 public class ArenaPanel extends JPanel {
+    /**
+     * Width of the shadows on the top and the left of the playable cells.
+     */
+    private static final int SHADOW_SIZE = 5;
+
     /**
      * Instance that manages the game.
      */
     private final InstanceManager instanceManager;
+    /**
+     * Targets of the level, drawn on the arena.
+     */
+    private final List<GuiTarget> guiTargets;
+    /**
+     * Image of the cells, their shadows and the targets, null before the first paint.
+     */
+    private VolatileImage layer;
+    /**
+     * Size of the cells the layer was drawn for, -1 when it must be drawn again.
+     */
+    private int layerCellSize = -1;
+    /**
+     * True while the window is being resized, the layer is then stretched instead of being drawn again.
+     */
+    private boolean preview = false;
 
     /**
-     * Constructor for the ArenaPanel class. It initializes the panel and fills it with cells.
+     * Constructor for the ArenaPanel class. It initializes the panel with the size of the arena.
      * @param instanceManager instance that manages the game
+     * @param guiTargets targets of the level
      */
-    public ArenaPanel(InstanceManager instanceManager) {
+    public ArenaPanel(InstanceManager instanceManager, List<GuiTarget> guiTargets) {
         super();
         // setting the background color
         this.setBackground(Colours.BACKGROUND_GREYED);
         // initializing the instance manager
         this.instanceManager = instanceManager;
-        int map_size = instanceManager.getArena().getMatrix().length;
-
-        this.setLayout(new GridLayout(map_size, map_size));
+        this.guiTargets = guiTargets;
         this.setAlignmentY(CENTER_ALIGNMENT);
+        updateSize();
+    }
+
+    /**
+     * Updates the size of the panel to the size of the cells, the layer is drawn again at the next paint.
+     */
+    public void updateSize() {
+        GuiConfig guiConfig = instanceManager.getGuiConfig();
+        Dimension size = new Dimension(instanceManager.getArena().getWidth() * guiConfig.CELL_SIZE,
+                instanceManager.getArena().getHeight() * guiConfig.CELL_SIZE);
+        this.setMinimumSize(size);
+        this.setPreferredSize(size);
+        this.setMaximumSize(size);
+        revalidate();
+        repaint();
+    }
 
-        // filling the map with cells
-        for (int i = 0; i < map_size; i++) {
-            for (int j = 0; j < map_size; j++) {
-                this.add(new Cell(instanceManager, j, i));
+    @Override
+    protected void paintComponent(Graphics g) {
+        int cellSize = instanceManager.getGuiConfig().CELL_SIZE;
+        int width = instanceManager.getArena().getWidth() * cellSize;
+        int height = instanceManager.getArena().getHeight() * cellSize;
+        if (width <= 0 || height <= 0) return;
+        // the content of a volatile image can be lost at any time, it is then drawn again
+        do {
+            int state = layer == null ? VolatileImage.IMAGE_INCOMPATIBLE : layer.validate(getGraphicsConfiguration());
+            if (state == VolatileImage.IMAGE_RESTORED) layerCellSize = -1;
+            // during a resize, the layer of the previous size is stretched to the current one
+            if (preview && state != VolatileImage.IMAGE_INCOMPATIBLE && layerCellSize > 0) {
+                g.drawImage(layer, 0, 0, width, height, 0, 0, instanceManager.getArena().getWidth() * layerCellSize,
+                        instanceManager.getArena().getHeight() * layerCellSize, null);
+                continue;
             }
-        }
+            if (state == VolatileImage.IMAGE_INCOMPATIBLE || layer.getWidth() != width
+                    || layer.getHeight() != height) {
+                if (layer != null) layer.flush();
+                layer = createVolatileImage(width, height);
+                if (layer == null) return;
+                layerCellSize = -1;
+            }
+            if (layerCellSize != cellSize) paintLayer(cellSize);
+            g.drawImage(layer, 0, 0, null);
+        } while (layer.contentsLost());
     }
 
     /**
-     * @return the 2d array of cells that are displayed on the map
+     * Starts or stops the preview of a resize: while it runs, the layer is stretched to the new size of the cells,
+     * once it stops the layer is drawn again at the next paint.
+     * @param preview true while the window is being resized
      */
-    public Cell[][] getCells() {
-        // returns a 2d array of all the gui.gameplay.cell components drawn on the map
-        boolean[][] matrix = instanceManager.getArena().getMatrix();
-        int width = matrix.length;
-        int height = matrix[0].length;
-        int x = 0;
-        int y = 0;
-        Component[] component = this.getComponents();
-        Cell[][] result = new Cell[height][width];
+    public void setPreview(boolean preview) {
+        this.preview = preview;
+        repaint();
+    }
 
-        for (Component value : component) {
-            result[y][x] = (Cell) value;
-            x++;
-            if (x == width) {
-                x = 0;
-                y++;
+    /**
+     * Draws the cells, their shadows and the targets in the layer.
+     * @param cellSize size of the cells in pixels
+     */
+    private void paintLayer(int cellSize) {
+        Graphics2D g2d = layer.createGraphics();
+        boolean[][] matrix = instanceManager.getArena().getMatrix();
+        for (int y = 0; y < matrix.length; y++) {
+            for (int x = 0; x < matrix[y].length; x++) {
+                int pixelX = x * cellSize;
+                int pixelY = y * cellSize;
+                if (!matrix[y][x]) {
+                    g2d.setColor(Colours.BACKGROUND);
+                    g2d.fillRect(pixelX, pixelY, cellSize, cellSize);
+                    continue;
+                }
+                g2d.setColor(Colours.CELL_COLOUR);
+                g2d.fillRect(pixelX, pixelY, cellSize, cellSize);
+                // shadow of the light coming from the top left corner, when there is no playable cell there
+                boolean top = y == 0 || !matrix[y - 1][x];
+                boolean left = x == 0 || !matrix[y][x - 1];
+                g2d.setColor(Colours.SHADOW);
+                if (top) g2d.fillRect(pixelX, pixelY, cellSize, SHADOW_SIZE);
+                if (left) {
+                    int shadowY = top ? SHADOW_SIZE : 0;
+                    g2d.fillRect(pixelX, pixelY + shadowY, SHADOW_SIZE, cellSize - shadowY);
+                }
+                if (Debug.isDebugging()) {
+                    g2d.setColor(Color.black);
+                    g2d.drawRect(pixelX, pixelY, cellSize - 1, cellSize - 1);
+                }
             }
         }
-        return result;
+        // the targets are drawn in the coordinates of the game panel
+        ArenaTransform transform = instanceManager.getArenaTransform();
+        g2d.translate(-transform.getOriginX(), -transform.getOriginY());
+        for (GuiTarget guiTarget : guiTargets) guiTarget.paint(g2d);
+        g2d.dispose();
+        layerCellSize = cellSize;
     }
 }
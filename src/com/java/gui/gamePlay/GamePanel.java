@@ -1,6 +1,9 @@
 package com.java.gui.gamePlay;
 
 import com.java.config.Colours;
+import com.java.config.SpriteVariant;
+import com.java.geometry.BitBoard;
+import com.java.geometry.ArenaTransform;
 import com.java.gui.InstanceManager;
 import com.java.gui.UI.BottomPanel;
 import com.java.gui.UI.TopPanel;
@@ -10,6 +13,9 @@ import com.java.piece.decorator.Decorator;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
 
 
 /**
@@ -45,6 +51,31 @@ public class GamePanel extends JPanel {
      * InstanceManager instance that manages the game.
      */
     protected final InstanceManager instanceManager;
+    /**
+     * Pieces drawn on the arena, created once for the level.
+     */
+    private final List<GuiPiece> guiPieces = new ArrayList<>();
+    /**
+     * Image where the pieces are drawn, it is kept between the frames.
+     */
+    private BufferedImage backBuffer;
+    /**
+     * False when the pieces must be drawn again in the back buffer.
+     */
+    private boolean sceneValid = false;
+    /**
+     * Cells of the arena to draw again in the back buffer at the next paint, as a bit mask.
+     */
+    private long dirtyCells = 0;
+    /**
+     * Area of the back buffer covered by the animated pieces, to draw again at the next paint, null if there is none.
+     */
+    private Rectangle animatedArea;
+    /**
+     * Copy of the arena with its pieces taken when the window started being resized, stretched over the arena until
+     * the sprites of the new size are ready. Null when the window is not being resized.
+     */
+    private BufferedImage preview;
 
     /**
      * Constructor for the GamePanel class, it initializes the attributes, sets the background color and
@@ -64,70 +95,217 @@ public class GamePanel extends JPanel {
         this.topPanel = new TopPanel(this.instanceManager);
         this.add(topPanel, BorderLayout.NORTH);
 
-        this.arenaContainerPanel = new ArenaContainerPanel(this.instanceManager);
+        // the targets never move, they are drawn with the arena
+        List<GuiTarget> guiTargets = new ArrayList<>();
+        for (Target target : this.pieceLogic.getTargets()) {
+            guiTargets.add(new GuiTarget(this.instanceManager, target));
+        }
+        this.arenaContainerPanel = new ArenaContainerPanel(this.instanceManager, guiTargets);
         this.arenaPanel = arenaContainerPanel.getArenaPanel();
         this.add(arenaContainerPanel, BorderLayout.CENTER);
 
         this.bottomPanel = new BottomPanel(this.instanceManager);
         this.add(bottomPanel, BorderLayout.SOUTH);
+
+        for (Decorator piece : this.pieceLogic.getPieces()) {
+            guiPieces.add(new GuiPiece(this.instanceManager, piece));
+        }
+        // the whole scene is drawn at the first paint
+        pieceLogic.takeDirtyCells();
     }
 
     /**
-     * paints the pieces from the Piece logic class to the gui.
+     * Paints the pieces over the arena, in the same pass as the panels of the game.
+     * They are drawn again in the back buffer only when the scene has changed, otherwise the buffer is copied.
+     * @param g the graphics of the game panel
      */
-    public void paintPieces(){
-        if (instanceManager.isTransitioning()){
+    @Override
+    protected void paintChildren(Graphics g) {
+        super.paintChildren(g);
+        if (preview != null) {
+            // a cheap stretched copy, the scene is drawn again once the window has stopped being resized
+            ArenaTransform transform = getArenaTransform();
+            g.drawImage(preview, transform.getOriginX(), transform.getOriginY(),
+                    instanceManager.getArena().getWidth() * transform.getCellSize(),
+                    instanceManager.getArena().getHeight() * transform.getCellSize(), null);
             return;
         }
-        Graphics g = this.getGraphics();
-        for(Decorator piece: this.pieceLogic.getPieces()){
-            GuiPiece guiPiece = new GuiPiece(this.instanceManager, piece);
-            guiPiece.paintComponent(g);
+        if (!allocateBackBuffer()) return;
+        if (!sceneValid) {
+            paintScene();
+        } else {
+            if (dirtyCells != 0) paintCells();
+            if (animatedArea != null) paintAnimatedArea();
         }
+        g.drawImage(backBuffer, 0, 0, null);
     }
 
     /**
-     * paints the targets from the Piece logic class to the gui.
+     * Allocates the back buffer at the size of the panel if it does not have it, the scene is then invalid.
+     * @return false if the panel has no size yet, and so no back buffer
      */
-    public void paintTargets(){
-        if (instanceManager.isTransitioning()){
-            return;
+    private boolean allocateBackBuffer() {
+        if (backBuffer != null && backBuffer.getWidth() == getWidth() && backBuffer.getHeight() == getHeight()) {
+            return true;
         }
-        Graphics g = this.getGraphics();
-        for(Target target: this.pieceLogic.getTargets()){
-            GuiTarget guiTarget = new GuiTarget(this.instanceManager, target);
-            guiTarget.paintComponent(g);
+        if (getWidth() <= 0 || getHeight() <= 0) return false;
+        backBuffer = new BufferedImage(getWidth(), getHeight(), BufferedImage.TYPE_INT_ARGB);
+        sceneValid = false;
+        return true;
+    }
+
+    /**
+     * Draws the pieces in the back buffer.
+     */
+    private void paintScene() {
+        Graphics2D g2d = backBuffer.createGraphics();
+        // clear the previous frame
+        g2d.setComposite(AlphaComposite.Clear);
+        g2d.fillRect(0, 0, backBuffer.getWidth(), backBuffer.getHeight());
+        g2d.setComposite(AlphaComposite.SrcOver);
+        for (GuiPiece guiPiece : guiPieces) guiPiece.paint(g2d);
+        g2d.dispose();
+        sceneValid = true;
+        dirtyCells = 0;
+        animatedArea = null;
+    }
+
+    /**
+     * Draws again in the back buffer the area covered by the animated pieces, with every piece crossing it.
+     */
+    private void paintAnimatedArea() {
+        Graphics2D g2d = backBuffer.createGraphics();
+        g2d.setClip(animatedArea);
+        g2d.setComposite(AlphaComposite.Clear);
+        g2d.fillRect(animatedArea.x, animatedArea.y, animatedArea.width, animatedArea.height);
+        g2d.setComposite(AlphaComposite.SrcOver);
+        for (GuiPiece guiPiece : guiPieces) guiPiece.paint(g2d);
+        g2d.dispose();
+        animatedArea = null;
+    }
+
+    /**
+     * Asks the area covered by an animated piece to be drawn again, called at each frame of its animation.
+     * @param guiPiece the animated piece
+     */
+    private void repaintAnimated(GuiPiece guiPiece) {
+        Rectangle bounds = guiPiece.getAnimationBounds();
+        animatedArea = animatedArea == null ? bounds : animatedArea.union(bounds);
+        repaint(bounds);
+    }
+
+    /**
+     * Draws again in the back buffer only the dirty cells, with the pieces that cover them.
+     */
+    private void paintCells() {
+        Graphics2D g2d = backBuffer.createGraphics();
+        for (long cells = dirtyCells; cells != 0; cells &= cells - 1) {
+            int bit = Long.numberOfTrailingZeros(cells);
+            long cell = 1L << bit;
+            Rectangle bounds = getCellBounds(bit % BitBoard.STRIDE, bit / BitBoard.STRIDE);
+            g2d.setClip(bounds);
+            // clear the previous content of the cell
+            g2d.setComposite(AlphaComposite.Clear);
+            g2d.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
+            g2d.setComposite(AlphaComposite.SrcOver);
+            for (GuiPiece guiPiece : guiPieces) {
+                if ((guiPiece.getFootprint() & cell) != 0) guiPiece.paint(g2d);
+            }
         }
+        g2d.dispose();
+        dirtyCells = 0;
+    }
+
+    /**
+     * @param x coordinates of the cell on the X-axis
+     * @param y coordinates of the cell on the Y-axis
+     * @return the rectangle of the cell in the game panel
+     */
+    private Rectangle getCellBounds(int x, int y) {
+        ArenaTransform transform = getArenaTransform();
+        return new Rectangle(transform.toPixelX(x), transform.toPixelY(y), transform.getCellSize(),
+                transform.getCellSize());
     }
 
+    /**
+     * Starts the preview of a resize, if it is not already running: the pieces are no longer drawn at the size of
+     * the cells, a copy of their last frame is stretched instead until endPreview is called.
+     * The preview does not start while the panel has no size.
+     */
+    public void beginPreview() {
+        if (preview != null) return;
+        // nothing was shown yet, the next paint draws the scene at the new size
+        if (!allocateBackBuffer()) return;
+        // the scene may not have been painted since the last layout, it is drawn before being copied
+        if (!sceneValid) paintScene();
+        arenaPanel.setPreview(true);
+        ArenaTransform transform = getArenaTransform();
+        int width = instanceManager.getArena().getWidth() * transform.getCellSize();
+        int height = instanceManager.getArena().getHeight() * transform.getCellSize();
+        preview = new BufferedImage(Math.max(1, width), Math.max(1, height), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = preview.createGraphics();
+        g2d.drawImage(backBuffer, -transform.getOriginX(), -transform.getOriginY(), null);
+        g2d.dispose();
+    }
+
+    /**
+     * Stops the preview of a resize, the arena and the pieces are drawn at the new size of the cells.
+     */
+    public void endPreview() {
+        if (preview == null) return;
+        preview = null;
+        arenaPanel.setPreview(false);
+        sceneValid = false;
+        repaint();
+    }
+
+    /**
+     * @return the variants of the sprites of the pieces in their current state, taken on the event dispatch thread
+     */
+    public List<SpriteVariant> getSpriteVariants() {
+        List<SpriteVariant> variants = new ArrayList<>();
+        for (GuiPiece guiPiece : guiPieces) variants.add(guiPiece.getSpriteVariant());
+        return variants;
+    }
+
+    /**
+     * Lays out the panels, the arena may have moved so the scene is drawn again at the next paint.
+     */
     @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        //paint the arena
-        SwingUtilities.invokeLater(this::paintTargets);
-        SwingUtilities.invokeLater(this::paintPieces);
+    public void doLayout() {
+        super.doLayout();
+        // the arena container may have moved without being laid out again
+        arenaContainerPanel.updateTransform();
+        sceneValid = false;
     }
 
     /**
      * Main method that updates the gui of the game.
      */
     public void update(){
-        // this makes sure to remove any previous pieces before adding new ones.
-        repaint();
+        // only the cells changed by the moves are drawn again
+        long changed = pieceLogic.takeDirtyCells();
+        if (changed == BitBoard.OUTSIDE) sceneValid = false;
+        if (!sceneValid) {
+            repaint();
+        } else {
+            dirtyCells |= changed;
+            for (long cells = changed; cells != 0; cells &= cells - 1) {
+                int bit = Long.numberOfTrailingZeros(cells);
+                repaint(getCellBounds(bit % BitBoard.STRIDE, bit / BitBoard.STRIDE));
+            }
+        }
+        // the pieces that have moved go to their new state on the frame clock
+        for (GuiPiece guiPiece : guiPieces) guiPiece.animateChange(() -> repaintAnimated(guiPiece));
         this.topPanel.updateCount(instanceManager);
         this.bottomPanel.updateButtons();
-
-        // scheduling the painting of the pieces on the next event on the event dispatch thread
-        SwingUtilities.invokeLater(this::paintTargets);
-        SwingUtilities.invokeLater(this::paintPieces);
     }
 
     /**
-     * @return the arena container panel.
+     * @return the transform from the cells of the arena to the pixels of the game panel
      */
-    // this getter is mostly used to get its position, could probably be done in a better way.
-    public ArenaContainerPanel getArenaContainerPanel(){
-        return this.arenaContainerPanel;
+    public ArenaTransform getArenaTransform(){
+        return this.arenaContainerPanel.getArenaTransform();
     }
 
     /**
@@ -1,26 +1,45 @@
 package com.java.gui.gamePlay;
 
-import com.java.config.GuiConfig;
+import com.java.config.DecoratorIcons;
 import com.java.config.GuiPieceImages;
+import com.java.config.SpriteVariant;
+import com.java.geometry.ArenaTransform;
 import com.java.geometry.IntCoordinates;
 import com.java.gui.InstanceManager;
+import com.java.gui.animation.Animation;
+import com.java.gui.animation.Easing;
+import com.java.gui.animation.FrameClock;
+import com.java.piece.PieceBrute;
 import com.java.piece.decorator.Decorator;
 import com.java.piece.decorator.Translation;
 import com.java.utils.Debug;
 
-import javax.imageio.ImageIO;
-import javax.swing.*;
 import java.awt.*;
+import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
 import java.util.Objects;
 
 
 /**
  * This class is responsible for painting the pieces in the game.
+ * It is created once for each piece of the level and kept by the GamePanel.
+ * When the piece moves, turns or flips, it is painted in its new state through a transform going from the
+ * previous state to the new one, animated by the FrameClock.
  */
-public class GuiPiece extends JPanel {
+public class GuiPiece {
+    /**
+     * Duration of the animation of a translation, in milliseconds.
+     */
+    private static final long MOVE_MILLIS = 120;
+    /**
+     * Duration of the animation of a rotation or a flip, in milliseconds.
+     */
+    private static final long TURN_MILLIS = 160;
+    /**
+     * Smallest scale of a flip, a scale of 0 cannot be painted.
+     */
+    private static final double MIN_FLIP_SCALE = 0.01;
+
     /**
      * Instance manager that manages the game.
      */
@@ -35,9 +54,45 @@ public class GuiPiece extends JPanel {
      */
     private final Color color;
     /**
-     * Icon of the piece.
+     * Sprite of the piece in its last painted orientation, null before the first paint.
+     */
+    private BufferedImage sprite;
+    /**
+     * Rotations, flips and size of the cells the sprite was taken for, -1 before the first paint.
+     */
+    private int spriteVariant = -1;
+    /**
+     * Offset, rotations, flips and size of the shape of the piece when it was last animated.
+     */
+    private int settledX, settledY, settledRotations, settledWidth, settledHeight;
+    /**
+     * Flips of the piece when it was last animated.
+     */
+    private boolean settledXFlipped, settledYFlipped;
+    /**
+     * Running animation of the piece, null when it is still.
      */
-    private ImageIcon shapeIcon;
+    private Animation animation;
+    /**
+     * Progress of the running animation, 1 when the piece is still.
+     */
+    private double progress = 1;
+    /**
+     * Centre of the piece before the running animation, in cells.
+     */
+    private double fromCenterX, fromCenterY;
+    /**
+     * Angle of the piece before the running animation, relative to its new orientation, in radians.
+     */
+    private double fromAngle;
+    /**
+     * Cells covered by the piece during its running animation.
+     */
+    private Rectangle animationBounds = new Rectangle();
+    /**
+     * True if the running animation turns the piece over the x-axis or the y-axis.
+     */
+    private boolean flipsX, flipsY;
 
     /**
      * Constructor for the GuiPiece class.
@@ -49,65 +104,154 @@ public class GuiPiece extends JPanel {
         this.instanceManager = instanceManager;
         this.piece = piece;
         this.color = piece.getPiece().getColor();
-        shapeIcon = switch(piece.getPiece().getType()){
-            case "OShape" -> GuiPieceImages.OImage;
-            case "HoShape" -> GuiPieceImages.HoImage;
-            case "IShape" -> GuiPieceImages.IImage;
-            case "JShape" -> GuiPieceImages.JImage;
-            case "LShape" -> GuiPieceImages.LImage;
-            case "SingleShape" -> GuiPieceImages.SingleImage;
-            case "TShape" -> GuiPieceImages.TImage;
-            case "VeShape" -> GuiPieceImages.VeImage;
-            default -> null;
-        };
+        settle();
+    }
+
+    /**
+     * Remembers the current state of the piece as the start of its next animation.
+     */
+    private void settle() {
+        PieceBrute base = piece.getPiece();
+        IntCoordinates offSet = base.getOffset();
+        settledX = offSet.getX();
+        settledY = offSet.getY();
+        settledRotations = base.getRotations();
+        settledXFlipped = base.isxFlipped();
+        settledYFlipped = base.isyFlipped();
+        settledWidth = base.getShape()[0].length;
+        settledHeight = base.getShape().length;
+    }
+
+    /**
+     * Starts the animation of the piece from its last animated state to its current one, if it has changed.
+     * A running animation is ended first, the piece then starts from its last state.
+     * @param onFrame action run at each frame of the animation, to paint it
+     * @return true if an animation was started
+     */
+    public boolean animateChange(Runnable onFrame) {
+        if (animation != null) FrameClock.get().finish(animation);
+        PieceBrute base = piece.getPiece();
+        IntCoordinates offSet = base.getOffset();
+        int width = base.getShape()[0].length;
+        int height = base.getShape().length;
+        int turns = Math.floorMod(base.getRotations() - settledRotations, 4);
+        flipsX = base.isxFlipped() != settledXFlipped;
+        flipsY = base.isyFlipped() != settledYFlipped;
+        boolean moved = offSet.getX() != settledX || offSet.getY() != settledY;
+        if (!moved && turns == 0 && !flipsX && !flipsY) return false;
+
+        fromCenterX = settledX + settledWidth / 2.0;
+        fromCenterY = settledY + settledHeight / 2.0;
+        // a rotation of the sprite turns it clockwise, or anticlockwise once it is flipped on a single axis
+        fromAngle = turns == 1 ? -Math.PI / 2 : turns == 3 ? Math.PI / 2 : turns == 2 ? -Math.PI : 0;
+        if (base.isxFlipped() != base.isyFlipped()) fromAngle = -fromAngle;
+        long duration = turns != 0 || flipsX || flipsY ? TURN_MILLIS : MOVE_MILLIS;
+        // the bounds before the move are needed until the end of the animation
+        Rectangle from = new Rectangle(settledX, settledY, settledWidth, settledHeight);
+        settle();
+        animationBounds = from.union(new Rectangle(settledX, settledY, width, height));
+        if (turns != 0) {
+            // the corners of the piece go around its centre during the rotation
+            int grow = (Math.max(width, height) + 1) / 2;
+            animationBounds.grow(grow, grow);
+        }
+        animation = new Animation(duration, Easing.EASE_OUT, p -> {
+            progress = p;
+            onFrame.run();
+        }, () -> animation = null);
+        FrameClock.get().start(animation);
+        return true;
+    }
+
+    /**
+     * @return the rectangle of the game panel covered by the piece during its running animation, in pixels
+     */
+    public Rectangle getAnimationBounds() {
+        ArenaTransform transform = this.instanceManager.getArenaTransform();
+        int cellSize = transform.getCellSize();
+        // one more pixel on each side for the smoothing of the sprite
+        return new Rectangle(transform.toPixelX(animationBounds.x) - 1, transform.toPixelY(animationBounds.y) - 1,
+                animationBounds.width * cellSize + 2, animationBounds.height * cellSize + 2);
+    }
+
+    /**
+     * Applies the transform of the running animation: the piece, painted in its new state, is moved and turned
+     * to look like it is between its previous state and the new one.
+     * @param g2d graphics where the piece is painted, in the coordinates of the game panel
+     * @param transform transform from the cells of the arena to the pixels of the game panel
+     */
+    private void applyAnimation(Graphics2D g2d, ArenaTransform transform) {
+        int cellSize = transform.getCellSize();
+        double toCenterX = settledX + settledWidth / 2.0;
+        double toCenterY = settledY + settledHeight / 2.0;
+        double centerX = fromCenterX + (toCenterX - fromCenterX) * progress;
+        double centerY = fromCenterY + (toCenterY - fromCenterY) * progress;
+        g2d.translate(transform.getOriginX() + centerX * cellSize, transform.getOriginY() + centerY * cellSize);
+        g2d.rotate(fromAngle * (1 - progress));
+        // a flip over the x-axis turns the piece upside down, it goes from a scale of -1 to 1 on the y-axis
+        double flip = 2 * progress - 1;
+        if (Math.abs(flip) < MIN_FLIP_SCALE) flip = MIN_FLIP_SCALE;
+        g2d.scale(flipsY ? flip : 1, flipsX ? flip : 1);
+        g2d.translate(-transform.getOriginX() - toCenterX * cellSize, -transform.getOriginY() - toCenterY * cellSize);
+    }
+
+    /**
+     * @return the cells of the arena covered by the piece as a bit mask, BitBoard.OUTSIDE if it is off the board
+     */
+    public long getFootprint() {
+        return piece.getPiece().getFootprint();
     }
 
-    @Override
-    public void paintComponent(Graphics g) {
-        // Get the 2D graphics object
-        Graphics2D g2d = (Graphics2D) g;
-        // Get the gui configuration for the size of the cells
-        GuiConfig guiConfig = this.instanceManager.getGuiConfig();
-        // Initialize the image
-        BufferedImage img = null;
-        double imgScale = 0.05;
+    /**
+     * @return a copy of the values choosing the sprite of the piece in its current state, to render it on another
+     * thread. It must be called on the event dispatch thread, where the piece is moved.
+     */
+    public SpriteVariant getSpriteVariant() {
+        PieceBrute base = piece.getPiece();
+        return new SpriteVariant(base.getType(), base.getRotations(), base.isxFlipped(), base.isyFlipped(), this.color);
+    }
+
+    /**
+     * Paints the piece and the icons of its decorators.
+     * @param g2d graphics where the piece is painted, in the coordinates of the game panel
+     */
+    public void paint(Graphics2D g2d) {
+        // Get the transform from the cells of the arena to the pixels of the game panel
+        ArenaTransform transform = this.instanceManager.getArenaTransform();
+        AffineTransform saved = null;
+        if (progress < 1) {
+            saved = g2d.getTransform();
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            applyAnimation(g2d, transform);
+        }
+        int cellSize = transform.getCellSize();
         // Get the offset of the piece for the position in the window
         IntCoordinates offSet = this.piece.getPiece().getOffset();
-        // Initialize the coordinates of the cell and the piece
-        IntCoordinates cellCoords;
-        IntCoordinates pieceCoords;
-        // determine the type of image to use
-        if (shapeIcon != null) {
-            // preloading all the rotated icon shapes
-            for(int i = 0; i < piece.getPiece().getRotations(); i++){
-                // this should only execute a maximum of 3 times
-                shapeIcon = GuiPieceImages.rotateImage(shapeIcon);
-            }
-            // flip the image if necessary in the x and y direction
-            if(piece.getPiece().isxFlipped()) shapeIcon = GuiPieceImages.flipImage(shapeIcon, true);
-            if(piece.getPiece().isyFlipped()) shapeIcon = GuiPieceImages.flipImage(shapeIcon, false);
+        // get the sprite of the piece, already oriented, coloured and scaled, only when the piece has changed
+        int variant = piece.getPiece().getRotations() | (piece.getPiece().isxFlipped() ? 4 : 0)
+                | (piece.getPiece().isyFlipped() ? 8 : 0) | cellSize << 4;
+        if (variant != spriteVariant) {
+            sprite = GuiPieceImages.getSprite(piece.getPiece().getType(), piece.getPiece().getRotations(),
+                    piece.getPiece().isxFlipped(), piece.getPiece().isyFlipped(), this.color, cellSize);
+            spriteVariant = variant;
+        }
+        if (sprite != null) {
             // get the pixel coordinates of the piece
-            pieceCoords = this.instanceManager.getPixelCoordinates(new IntCoordinates(offSet.getX() ,offSet.getY()));
-            // change the color of the image
-            GuiPieceImages.changeColour(shapeIcon, this.color);
-            // scale the image to the correct size
-            int imageWidth = shapeIcon.getImage().getWidth(null) / 120 * guiConfig.CELL_SIZE;
-            int imageHeight = shapeIcon.getImage().getHeight(null) /120 * guiConfig.CELL_SIZE;
-            g2d.setColor(this.color);
-            g2d.drawImage(shapeIcon.getImage(), pieceCoords.getX(), pieceCoords.getY(), imageWidth, imageHeight,
-                    null);
+            int pieceX = transform.toPixelX(offSet.getX());
+            int pieceY = transform.toPixelY(offSet.getY());
+            g2d.drawImage(sprite, pieceX, pieceY, null);
 
             // Debugging purposes
             if (Debug.isDebugging()) {
                 // Write the coordinates of the piece on the piece
                 g2d.setColor(Color.black);
-                g2d.drawString("x:" + pieceCoords.getX() + " y: " + pieceCoords.getY(), pieceCoords.getX(), pieceCoords.getY());
+                g2d.drawString("x:" + pieceX + " y: " + pieceY, pieceX, pieceY);
                 // Draw a red circle on the pivot point of the piece
                 int circleRadius = 5;
                 g2d.setColor(Color.red);
-                g2d.drawOval(pieceCoords.getX(), pieceCoords.getY(), circleRadius * 2, circleRadius * 2);
+                g2d.drawOval(pieceX, pieceY, circleRadius * 2, circleRadius * 2);
                 // Draw a rectangle around the piece
-                g2d.drawRect(pieceCoords.getX(), pieceCoords.getY(), imageWidth, imageHeight);
+                g2d.drawRect(pieceX, pieceY, sprite.getWidth(), sprite.getHeight());
             }
         }
         // Paint the decorators of the piece
@@ -116,61 +260,35 @@ public class GuiPiece extends JPanel {
             int i = pos.getY();
             int j = pos.getX();
             // Get the pixel coordinates of the cell
-            cellCoords = new IntCoordinates(j + offSet.getX(), i + offSet.getY());
-            cellCoords = this.instanceManager.getPixelCoordinates(cellCoords);
+            int cellX = transform.toPixelX(j + offSet.getX());
+            int cellY = transform.toPixelY(i + offSet.getY());
             g2d.setColor(this.color);
-            // load the icon for decorator into memory
             String action = piece.getActionType(j, i);
-            try{
-                if (!Objects.equals(action, "") && !Objects.equals(action, "Translation")){
-                    img = ImageIO.read(new File(GuiConfig.resPath + "icons/" + action + ".png"));
-                }
-            } catch (Exception e) {
-                System.out.println("File not found : " + GuiConfig.resPath + "icons/" + action + ".png");
-                System.out.println("Error in paintComponent : " + e.getMessage());
-            }
             // paint the icon of the decorator
             if (Objects.equals(action, "Translation")) {
                 // paint the directional arrows of the translation
-                paintDirectional(g2d, cellCoords, (Translation) piece, i, j);
-            } else if (img != null) {
-                // Paint the image of the other decorator
-                int imageWidth = (int) (img.getWidth() * imgScale);
-                int imageHeight = (int) (img.getHeight() * imgScale);
-                int rectCenterX = cellCoords.getX() + (guiConfig.CELL_SIZE / 2);
-                int rectCenterY = cellCoords.getY() + (guiConfig.CELL_SIZE / 2);
-                g2d.drawImage(img, rectCenterX - imageWidth / 2, rectCenterY - imageHeight / 2,
-                        imageWidth, imageHeight, null);
-                img = null;
+                paintDirectional(g2d, cellX, cellY, cellSize, (Translation) piece, i, j);
+            } else if (!Objects.equals(action, "")) {
+                // Paint the image of the other decorator, already scaled by the atlas
+                BufferedImage img = DecoratorIcons.getAction(action, cellSize);
+                if (img == null) continue;
+                int rectCenterX = cellX + (cellSize / 2);
+                int rectCenterY = cellY + (cellSize / 2);
+                g2d.drawImage(img, rectCenterX - img.getWidth() / 2, rectCenterY - img.getHeight() / 2, null);
             }
         }
+        if (saved != null) g2d.setTransform(saved);
     }
 
     /**
      * Method that paints the directional arrows of a Translation decorator as rectangles.
      * @param g2d 2D Graphics object
-     * @param cellCoords Coordinates of the cell in the game
+     * @param x pixel of the left side of the cell
+     * @param y pixel of the top side of the cell
+     * @param cellSize size of the cells in pixels
      * @param piece Translation we want to draw
      */
-    private void paintDirectional(Graphics2D g2d, IntCoordinates cellCoords, Translation piece, int a, int b) {
-        // Get the gui configuration for the size of the cells
-        GuiConfig guiConfig = this.instanceManager.getGuiConfig();
-        int cellSize = guiConfig.CELL_SIZE;
-        int x = cellCoords.getX();
-        int y = cellCoords.getY();
-        // Load the images of the directional arrows
-        Image[] images = new Image[4];
-        try {
-            images[0] = ImageIO.read(new File(GuiConfig.resPath + "icons/up.png"));
-            images[1] = ImageIO.read(new File(GuiConfig.resPath + "icons/right.png"));
-            images[2] = ImageIO.read(new File(GuiConfig.resPath + "icons/down.png"));
-            images[3] = ImageIO.read(new File(GuiConfig.resPath + "icons/left.png"));
-        } catch (IOException e) {
-            System.out.println("File not found : " + GuiConfig.resPath + "icons/" + "[up/right/down/left].png");
-            System.out.println("Error in paintDirectional : " + e.getMessage());
-            return;
-        }
-
+    private void paintDirectional(Graphics2D g2d, int x, int y, int cellSize, Translation piece, int a, int b) {
         // Find the decorator to draw here
         Decorator tmp = piece;
         while (!piece.getActionPoint().equals(new IntCoordinates(b, a))) {
@@ -189,15 +307,11 @@ public class GuiPiece extends JPanel {
                 break;
             }
         }
-        // Draw the directional arrows
+        // Draw the directional arrows, already scaled to the size of a cell by the atlas
         for (int i = 0; i < piece.getDirections().length; i++) {
             if (piece.getDirections()[i]) {
-                switch (i) {
-                    case 0 -> g2d.drawImage(images[0], x, y, cellSize, cellSize, null);
-                    case 1 -> g2d.drawImage(images[1], x, y, cellSize, cellSize, null);
-                    case 2 -> g2d.drawImage(images[2], x, y, cellSize, cellSize, null);
-                    case 3 -> g2d.drawImage(images[3], x, y, cellSize, cellSize, null);
-                }
+                BufferedImage arrow = DecoratorIcons.getArrow(i, cellSize);
+                if (arrow != null) g2d.drawImage(arrow, x, y, null);
             }
         }
     }
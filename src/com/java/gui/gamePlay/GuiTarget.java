@@ -1,18 +1,18 @@
 package com.java.gui.gamePlay;
 
-import com.java.config.GuiConfig;
+import com.java.geometry.ArenaTransform;
 import com.java.geometry.IntCoordinates;
 import com.java.gui.InstanceManager;
 import com.java.piece.Target;
 
-import javax.swing.*;
 import java.awt.*;
 
 
 /**
  * This class is responsible for painting the target in the game.
+ * It is created once for each target of the level and drawn with the arena by the ArenaPanel.
  */
-public class GuiTarget extends JPanel {
+public class GuiTarget {
     /**
      * Instance manager of the game.
      */
@@ -21,6 +21,10 @@ public class GuiTarget extends JPanel {
      * Target to be painted.
      */
     private final Target target;
+    /**
+     * Color of the piece of the target, made less opaque.
+     */
+    private final Color color;
 
     /**
      * Constructor of the GuiTarget class.
@@ -30,30 +34,29 @@ public class GuiTarget extends JPanel {
     public GuiTarget(InstanceManager iManager, Target target) {
         this.instanceManager = iManager;
         this.target = target;
-    }
-
-    @Override
-    public void paintComponent(Graphics g) {
-        // get the graphics object
-        Graphics2D g2d = (Graphics2D) g;
-        GuiConfig guiConfig = this.instanceManager.getGuiConfig();
-
         // make the color less opaque
         Color color = target.getPiece().getPiece().getColor();
-        color = new Color(color.getRed(), color.getGreen(), color.getBlue(), 70);
+        this.color = new Color(color.getRed(), color.getGreen(), color.getBlue(), 70);
+    }
+
+    /**
+     * Paints the cells of the target.
+     * @param g2d graphics where the target is painted, in the coordinates of the game panel
+     */
+    public void paint(Graphics2D g2d) {
+        ArenaTransform transform = this.instanceManager.getArenaTransform();
         g2d.setColor(color);
 
-        // get the shape of the target
+        // get the shape and the position of the target
         boolean[][] shape = target.getShape();
-        IntCoordinates cellCoords;
+        IntCoordinates dest = target.getDest();
 
         // draw the target
         for (int y = 0; y < shape.length; y++) {
             for (int x = 0; x < shape[y].length; x++) {
                 if (shape[y][x]) {
-                    cellCoords = new IntCoordinates(target.getDest().getX() + x, target.getDest().getY() + y);
-                    cellCoords = this.instanceManager.getPixelCoordinates(cellCoords);
-                    g2d.fillRect(cellCoords.getX(), cellCoords.getY(), guiConfig.CELL_SIZE, guiConfig.CELL_SIZE);
+                    g2d.fillRect(transform.toPixelX(dest.getX() + x), transform.toPixelY(dest.getY() + y),
+                            transform.getCellSize(), transform.getCellSize());
                 }
             }
         }
@@ -1,11 +1,9 @@
 package com.java.gui.sound;
 
-import com.java.config.GuiConfig;
+import com.java.config.Assets;
 
-import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
 import javax.sound.sampled.Clip;
-import java.io.File;
 
 
 /**
@@ -17,9 +15,9 @@ public class SoundManager {
      */
     protected Clip clip;
     /**
-     * Array of files that contains the sound files.
+     * Paths of the sound files in the resources, the sounds are decoded once by Assets.
      */
-    protected final File[] soundFiles = new File[14];
+    protected final String[] soundFiles = new String[14];
     /**
      * Booleans that manage the mute of the sound effects. If true, the sound effects are muted.
      */
@@ -34,20 +32,20 @@ public class SoundManager {
      * It initializes the sound files.
      */
     public SoundManager() {
-        soundFiles[0] = new File(GuiConfig.resPath + "sfx/bg.wav");
-        soundFiles[1] = new File(GuiConfig.resPath + "sfx/move1.wav");
-        soundFiles[2] = new File(GuiConfig.resPath + "sfx/move2.wav");
-        soundFiles[3] = new File(GuiConfig.resPath + "sfx/move3.wav");
-        soundFiles[4] = new File(GuiConfig.resPath + "sfx/move4.wav");
-        soundFiles[5] = new File(GuiConfig.resPath + "sfx/move5.wav");
-        soundFiles[6] = new File(GuiConfig.resPath + "sfx/collision1.wav");
-        soundFiles[7] = new File(GuiConfig.resPath + "sfx/collision2.wav");
-        soundFiles[8] = new File(GuiConfig.resPath + "sfx/collision3.wav");
-        soundFiles[9] = new File(GuiConfig.resPath + "sfx/win1.wav");
-        soundFiles[10] = new File(GuiConfig.resPath + "sfx/win2.wav");
-        soundFiles[11] = new File(GuiConfig.resPath + "sfx/win3.wav");
-        soundFiles[12] = new File(GuiConfig.resPath + "sfx/win4.wav");
-        soundFiles[13] = new File(GuiConfig.resPath + "sfx/win5.wav");
+        soundFiles[0] = "sfx/bg.wav";
+        soundFiles[1] = "sfx/move1.wav";
+        soundFiles[2] = "sfx/move2.wav";
+        soundFiles[3] = "sfx/move3.wav";
+        soundFiles[4] = "sfx/move4.wav";
+        soundFiles[5] = "sfx/move5.wav";
+        soundFiles[6] = "sfx/collision1.wav";
+        soundFiles[7] = "sfx/collision2.wav";
+        soundFiles[8] = "sfx/collision3.wav";
+        soundFiles[9] = "sfx/win1.wav";
+        soundFiles[10] = "sfx/win2.wav";
+        soundFiles[11] = "sfx/win3.wav";
+        soundFiles[12] = "sfx/win4.wav";
+        soundFiles[13] = "sfx/win5.wav";
     }
 
     /**
@@ -56,9 +54,9 @@ public class SoundManager {
      */
     public void setFile(int i){
         try {
-            AudioInputStream ais = AudioSystem.getAudioInputStream(soundFiles[i]);
+            Assets.Sound sound = Assets.getSound(soundFiles[i]);
             clip = AudioSystem.getClip();
-            clip.open(ais);
+            clip.open(sound.getFormat(), sound.getData(), 0, sound.getData().length);
         } catch (Exception e) {
             System.out.println("Error in Sound.setFile : " + e.getMessage());
         }
@@ -1,5 +1,6 @@
 package com.java.logic;
 
+import com.java.geometry.BitBoard;
 import com.java.gui.InstanceManager;
 
 
@@ -20,6 +21,11 @@ public class Arena {
      * The matrix representing the arena.
      */
     private final boolean[][] matrix;
+    /**
+     * The playable cells of the arena as a bit mask.
+     * @see BitBoard
+     */
+    private long mask;
 
     /**
      * Represents an arena in the game.
@@ -27,10 +33,23 @@ public class Arena {
      * @param iManager the instance manager that contains the level data
      */
     public Arena(InstanceManager iManager){
-        String[] data = LevelManager.loadLevelFromJson(iManager.level);
+        this(iManager.level);
+    }
+
+    /**
+     * Represents the arena of a level without any GUI attached to it.
+     * It is used by the solver to load a level headlessly.
+     * @param level the id of the level to load
+     */
+    public Arena(int level){
+        String[] data = LevelManager.loadLevelFromJson(level);
         assert data != null;
         width = Integer.parseInt(data[1]);
         height = Integer.parseInt(data[2]);
+        if (width > BitBoard.SIZE || height > BitBoard.SIZE) {
+            throw new IllegalArgumentException("The arena of the level " + level + " is bigger than "
+                    + BitBoard.SIZE + "x" + BitBoard.SIZE + ".");
+        }
         matrix = new boolean[height][width];
         loadArena(data[0]);
     }
@@ -47,6 +66,7 @@ public class Arena {
                 matrix[i][j] = binary.charAt(i * width + j) != '0';
             }
         }
+        mask = BitBoard.mask(matrix);
     }
 
     /**
@@ -55,4 +75,25 @@ public class Arena {
     public boolean[][] getMatrix(){
         return matrix;
     }
+
+    /**
+     * @return the playable cells of the arena as a bit mask
+     */
+    public long getMask(){
+        return mask;
+    }
+
+    /**
+     * @return the width of the arena
+     */
+    public int getWidth(){
+        return width;
+    }
+
+    /**
+     * @return the height of the arena
+     */
+    public int getHeight(){
+        return height;
+    }
 }
@@ -0,0 +1,136 @@
+package com.java.logic;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+
+/**
+ * Immutable definition of a decorator of a piece, as written in pieces.json.
+ */
+public class DecoratorDefinition {
+    /**
+     * Type of the decorator: "translation", "rotation" or "flip".
+     */
+    private final String type;
+    /**
+     * Position of the action point in the shape on the X-axis.
+     */
+    private final int x;
+    /**
+     * Position of the action point in the shape on the Y-axis.
+     */
+    private final int y;
+    /**
+     * Directions of a translation (North, East, South, West), null for the other types.
+     */
+    private final boolean[] directions;
+    /**
+     * Direction of a rotation, true for clockwise.
+     */
+    private final boolean clockwise;
+    /**
+     * Number of times a rotation is applied when the piece is created.
+     */
+    private final int repeat;
+    /**
+     * Axis of a flip, true for the X-axis.
+     */
+    private final boolean horizontal;
+
+    /**
+     * Constructor of the DecoratorDefinition.
+     * @param type type of the decorator: "translation", "rotation" or "flip"
+     * @param x position of the action point on the X-axis
+     * @param y position of the action point on the Y-axis
+     * @param directions directions of a translation, null for the other types
+     * @param clockwise direction of a rotation
+     * @param repeat number of times a rotation is applied when the piece is created
+     * @param horizontal axis of a flip
+     */
+    public DecoratorDefinition(String type, int x, int y, boolean[] directions, boolean clockwise, int repeat,
+                               boolean horizontal) {
+        this.type = type;
+        this.x = x;
+        this.y = y;
+        this.directions = directions == null ? null : directions.clone();
+        this.clockwise = clockwise;
+        this.repeat = repeat;
+        this.horizontal = horizontal;
+    }
+
+    /**
+     * Reads a decorator from its JSON object in pieces.json.
+     * @param decorator the JSON object of the decorator
+     * @return the definition of the decorator
+     */
+    public static DecoratorDefinition fromJson(JSONObject decorator) {
+        String type = decorator.getString("type");
+        JSONArray position = decorator.getJSONArray("position");
+        boolean[] directions = null;
+        boolean clockwise = false;
+        int repeat = 0;
+        boolean horizontal = false;
+        switch (type) {
+            case "rotation" -> {
+                clockwise = decorator.getBoolean("clockwise");
+                repeat = decorator.getInt("repeat");
+            }
+            case "flip" -> horizontal = decorator.getBoolean("horizontal");
+            default -> {
+                directions = new boolean[4];
+                for (int i = 0; i < 4; i++) directions[i] = decorator.getJSONArray("direction").getBoolean(i);
+            }
+        }
+        return new DecoratorDefinition(type, position.getInt(0), position.getInt(1), directions, clockwise, repeat,
+                horizontal);
+    }
+
+    /**
+     * @return the type of the decorator: "translation", "rotation" or "flip"
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * @return the position of the action point on the X-axis
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * @return the position of the action point on the Y-axis
+     */
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * @return a copy of the directions of a translation, null for the other types
+     */
+    public boolean[] getDirections() {
+        return directions == null ? null : directions.clone();
+    }
+
+    /**
+     * @return the direction of a rotation, true for clockwise
+     */
+    public boolean isClockwise() {
+        return clockwise;
+    }
+
+    /**
+     * @return the number of times a rotation is applied when the piece is created
+     */
+    public int getRepeat() {
+        return repeat;
+    }
+
+    /**
+     * @return the axis of a flip, true for the X-axis
+     */
+    public boolean isHorizontal() {
+        return horizontal;
+    }
+}
@@ -0,0 +1,206 @@
+package com.java.logic;
+
+import com.java.piece.Piece;
+import com.java.piece.PieceBrute;
+import com.java.piece.decorator.Decorator;
+import com.java.piece.decorator.Flip;
+import com.java.piece.decorator.Rotation;
+import com.java.piece.decorator.Translation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+
+/**
+ * Immutable snapshot of the pieces of a PieceLogic, packed in an array of longs.
+ * Each piece uses one word for its base (position, fixture point, orientation, rotations and flips),
+ * followed by one word for every 4 decorators (action point, translation directions, rotation or flip axis).
+ * The snapshot carries a Zobrist hash, which is updated incrementally when a single piece moves.
+ */
+public class GameState {
+    /**
+     * Number of decorators packed in a word.
+     */
+    private static final int DECORATORS_PER_WORD = 4;
+    /**
+     * Seed of the Zobrist keys, fixed so that hashes are the same between two runs of the game.
+     */
+    private static final long SEED = 0x5EED_0F_91ECE0L;
+    /**
+     * Zobrist keys of each word, one key for each value of each of its 8 bytes.
+     */
+    private static final ArrayList<long[]> keys = new ArrayList<>();
+
+    /**
+     * Packed pieces.
+     */
+    private final long[] words;
+    /**
+     * Index of the first word of each piece, the last value is the number of words.
+     */
+    private final int[] starts;
+    /**
+     * Zobrist hash of the words.
+     */
+    private final long hash;
+
+    /**
+     * Constructor of the GameState.
+     * @param words the packed pieces
+     * @param starts the index of the first word of each piece
+     * @param hash the Zobrist hash of the words
+     */
+    private GameState(long[] words, int[] starts, long hash) {
+        this.words = words;
+        this.starts = starts;
+        this.hash = hash;
+    }
+
+    /**
+     * Takes a snapshot of all the pieces of a PieceLogic.
+     * @param pieceLogic the pieces to pack
+     * @return the snapshot
+     */
+    public static GameState of(PieceLogic pieceLogic) {
+        ArrayList<Decorator> pieces = pieceLogic.getPieces();
+        int[] starts = new int[pieces.size() + 1];
+        for (int i = 0; i < pieces.size(); i++) {
+            int decorators = 0;
+            for (Piece p = pieces.get(i); p instanceof Decorator d; p = d.getPrevPiece()) decorators++;
+            starts[i + 1] = starts[i] + 1 + (decorators + DECORATORS_PER_WORD - 1) / DECORATORS_PER_WORD;
+        }
+        long[] words = new long[starts[pieces.size()]];
+        long hash = 0;
+        for (int i = 0; i < pieces.size(); i++) {
+            pack(pieces.get(i), words, starts[i]);
+            for (int w = starts[i]; w < starts[i + 1]; w++) hash ^= zobrist(w, words[w]);
+        }
+        return new GameState(words, starts, hash);
+    }
+
+    /**
+     * Creates the snapshot after a piece has moved. Only the words of this piece are packed again,
+     * and the hash is updated by removing the keys of the old words and adding the keys of the new ones.
+     * @param pieceLogic the pieces, with the moved piece in its new state
+     * @param piece the index of the piece that moved
+     * @return the new snapshot
+     */
+    public GameState update(PieceLogic pieceLogic, int piece) {
+        long[] next = words.clone();
+        pack(pieceLogic.getPieces().get(piece), next, starts[piece]);
+        long newHash = hash;
+        for (int w = starts[piece]; w < starts[piece + 1]; w++) {
+            newHash ^= zobrist(w, words[w]) ^ zobrist(w, next[w]);
+        }
+        return new GameState(next, starts, newHash);
+    }
+
+    /**
+     * Packs a piece and its decorators.
+     * @param top the last decorator of the piece
+     * @param words the array where the piece is written
+     * @param start the index of the first word of the piece
+     */
+    private static void pack(Decorator top, long[] words, int start) {
+        PieceBrute base = top.getPiece();
+        words[start] = (base.getPos().getX() & 0xFFL)
+                | (base.getPos().getY() & 0xFFL) << 8
+                | (base.getFixturePoint().getX() & 0xFL) << 16
+                | (base.getFixturePoint().getY() & 0xFL) << 20
+                | (long) base.getOrientation() << 24
+                | (long) base.getRotations() << 27
+                | (base.isxFlipped() ? 1L : 0L) << 29
+                | (base.isyFlipped() ? 1L : 0L) << 30;
+        int slot = 0;
+        for (Piece p = top; p instanceof Decorator decorator; p = decorator.getPrevPiece()) {
+            int word = start + 1 + slot / DECORATORS_PER_WORD;
+            if (slot % DECORATORS_PER_WORD == 0) words[word] = 0;
+            words[word] |= packDecorator(decorator) << (16 * (slot % DECORATORS_PER_WORD));
+            slot++;
+        }
+    }
+
+    /**
+     * Packs a decorator in 16 bits: the action point on 8 bits, its parameters on 4 bits and its kind on 2 bits.
+     * @param decorator the decorator to pack
+     * @return the packed decorator
+     */
+    private static long packDecorator(Decorator decorator) {
+        long packed = (decorator.getActionPoint().getX() & 0xFL) | (decorator.getActionPoint().getY() & 0xFL) << 4;
+        if (decorator instanceof Translation t) {
+            boolean[] directions = t.getDirections();
+            for (int k = 0; k < 4; k++) {
+                if (directions[k]) packed |= 1L << (8 + k);
+            }
+            packed |= 1L << 12;
+        } else if (decorator instanceof Rotation r) {
+            packed |= (r.getRotationDirection() ? 1L : 0L) << 8 | 2L << 12;
+        } else if (decorator instanceof Flip f) {
+            packed |= (f.getFlipAxis() ? 1L : 0L) << 8 | 3L << 12;
+        }
+        return packed;
+    }
+
+    /**
+     * Tabulation hash of a word, the XOR of the keys of its 8 bytes.
+     * @param index index of the word in the state
+     * @param word value of the word
+     * @return the Zobrist hash of the word
+     */
+    private static long zobrist(int index, long word) {
+        long[] table = keys(index);
+        long hash = 0;
+        for (int b = 0; b < 8; b++) {
+            hash ^= table[b * 256 + (int) ((word >>> (8 * b)) & 0xFF)];
+        }
+        return hash;
+    }
+
+    /**
+     * @param index index of a word in the state
+     * @return the keys of the word, generated the first time they are needed
+     */
+    private static synchronized long[] keys(int index) {
+        while (keys.size() <= index) {
+            SplittableRandom random = new SplittableRandom(SEED + keys.size());
+            long[] table = new long[8 * 256];
+            for (int k = 0; k < table.length; k++) table[k] = random.nextLong();
+            keys.add(table);
+        }
+        return keys.get(index);
+    }
+
+    /**
+     * @return the Zobrist hash of the state
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * @return a copy of the packed words
+     */
+    public long[] toLongArray() {
+        return words.clone();
+    }
+
+    /**
+     * @return the number of pieces in the state
+     */
+    public int getPieceCount() {
+        return starts.length - 1;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof GameState other)) return false;
+        return hash == other.hash && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
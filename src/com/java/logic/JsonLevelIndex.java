@@ -0,0 +1,218 @@
+package com.java.logic;
+
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+
+/**
+ * Index of the entries of a JSON file of the form {"levels": [{"id": 0, ...}, ...]}, like levels.json
+ * and pieces.json. The file is scanned once as a stream of bytes, without building any JSON object,
+ * and the byte range of each entry is kept with its id. Reading a level then parses only its entry,
+ * so the memory and the time to open a level do not grow with the number of levels of the file.
+ */
+public class JsonLevelIndex {
+    /**
+     * Size of the buffer used to scan the file.
+     */
+    private static final int BUFFER_BYTES = 1 << 16;
+    /**
+     * Longest key remembered by the scanner, longer strings are never keys of interest.
+     */
+    private static final int MAX_KEY = 16;
+
+    /**
+     * Indexed file.
+     */
+    private final Path file;
+    /**
+     * Ids of the entries, in increasing order.
+     */
+    private final int[] ids;
+    /**
+     * Offset of the first byte of each entry.
+     */
+    private final long[] starts;
+    /**
+     * Number of bytes of each entry.
+     */
+    private final int[] lengths;
+
+    /**
+     * Constructor of the JsonLevelIndex.
+     * @param file the indexed file
+     * @param ids the ids of the entries, in increasing order
+     * @param starts the offset of each entry
+     * @param lengths the number of bytes of each entry
+     */
+    private JsonLevelIndex(Path file, int[] ids, long[] starts, int[] lengths) {
+        this.file = file;
+        this.ids = ids;
+        this.starts = starts;
+        this.lengths = lengths;
+    }
+
+    /**
+     * Scans a file and indexes the objects of its "levels" array by their "id".
+     * @param file the file to index
+     * @return the index of the file
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if an entry has no id
+     */
+    public static JsonLevelIndex build(Path file) throws IOException {
+        int count = 0;
+        int[] foundIds = new int[64];
+        long[] foundStarts = new long[64];
+        int[] foundLengths = new int[64];
+
+        try (InputStream in = Files.newInputStream(file)) {
+            // Depth of the arrays and objects around the current byte
+            int depth = 0;
+            // Depth inside the "levels" array, -1 before it is found and MIN_VALUE after its end
+            int levelsDepth = -1;
+            boolean inString = false;
+            boolean escaped = false;
+            StringBuilder string = new StringBuilder();
+            String lastString = null;
+            // Key of the current value in the current entry
+            String key = null;
+            long entryStart = -1;
+            boolean hasId = false;
+            long id = 0;
+            boolean negative = false;
+            boolean inNumber = false;
+
+            byte[] buffer = new byte[BUFFER_BYTES];
+            long position = -1;
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                for (int p = 0; p < n; p++) {
+                    int b = buffer[p];
+                    position++;
+                    if (inString) {
+                        if (escaped) escaped = false;
+                        else if (b == '\\') escaped = true;
+                        else if (b == '"') {
+                            inString = false;
+                            lastString = string.length() <= MAX_KEY ? string.toString() : null;
+                        } else if (string.length() <= MAX_KEY) string.append((char) b);
+                        continue;
+                    }
+                    // The id of an entry is a number directly in the entry
+                    boolean inEntry = entryStart >= 0 && depth == levelsDepth + 1;
+                    if (inNumber && !(b >= '0' && b <= '9')) {
+                        inNumber = false;
+                        hasId = true;
+                        if (negative) id = -id;
+                    }
+                    switch (b) {
+                        case '"' -> {
+                            inString = true;
+                            string.setLength(0);
+                        }
+                        case ':' -> key = lastString;
+                        case ',' -> key = null;
+                        case '[' -> {
+                            if (levelsDepth == -1 && depth == 1 && "levels".equals(key)) levelsDepth = depth + 1;
+                            depth++;
+                            key = null;
+                        }
+                        case '{' -> {
+                            if (depth == levelsDepth) {
+                                entryStart = position;
+                                hasId = false;
+                            }
+                            depth++;
+                            key = null;
+                        }
+                        case ']', '}' -> {
+                            depth--;
+                            if (b == '}' && depth == levelsDepth && entryStart >= 0) {
+                                if (!hasId) throw new IllegalArgumentException("An entry of " + file + " has no id.");
+                                if (count == foundIds.length) {
+                                    foundIds = Arrays.copyOf(foundIds, count * 2);
+                                    foundStarts = Arrays.copyOf(foundStarts, count * 2);
+                                    foundLengths = Arrays.copyOf(foundLengths, count * 2);
+                                }
+                                foundIds[count] = (int) id;
+                                foundStarts[count] = entryStart;
+                                foundLengths[count++] = (int) (position + 1 - entryStart);
+                                entryStart = -1;
+                            }
+                            if (b == ']' && depth + 1 == levelsDepth) levelsDepth = Integer.MIN_VALUE;
+                        }
+                        default -> {
+                            boolean digit = b == '-' || (b >= '0' && b <= '9');
+                            if (inEntry && "id".equals(key) && !inNumber && !hasId && digit) {
+                                inNumber = true;
+                                negative = b == '-';
+                                id = negative ? 0 : b - '0';
+                            } else if (inNumber) {
+                                id = id * 10 + b - '0';
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        // Sort the entries by id, they usually already are
+        long[] order = new long[count];
+        for (int i = 0; i < count; i++) order[i] = (long) foundIds[i] << 32 | i;
+        Arrays.sort(order);
+        int[] ids = new int[count];
+        long[] starts = new long[count];
+        int[] lengths = new int[count];
+        for (int i = 0; i < count; i++) {
+            int k = (int) order[i];
+            ids[i] = foundIds[k];
+            starts[i] = foundStarts[k];
+            lengths[i] = foundLengths[k];
+        }
+        return new JsonLevelIndex(file, ids, starts, lengths);
+    }
+
+    /**
+     * @return the ids of the entries, in increasing order
+     */
+    public int[] getIds() {
+        return ids.clone();
+    }
+
+    /**
+     * @param id id of an entry
+     * @return the offset of the first byte of the entry and its number of bytes, or null if there is no entry
+     */
+    public long[] getRange(int id) {
+        int i = Arrays.binarySearch(ids, id);
+        return i < 0 ? null : new long[]{starts[i], lengths[i]};
+    }
+
+    /**
+     * Reads and parses a single entry of the file.
+     * @param id id of the entry
+     * @return the entry, or null if there is no entry with this id
+     * @throws IOException if the file cannot be read
+     */
+    public JSONObject read(int id) throws IOException {
+        int i = Arrays.binarySearch(ids, id);
+        if (i < 0) return null;
+        ByteBuffer bytes = ByteBuffer.allocate(lengths[i]);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (bytes.hasRemaining()) {
+                if (channel.read(bytes, starts[i] + bytes.position()) < 0) {
+                    throw new IOException(file + " has changed since it was indexed.");
+                }
+            }
+        }
+        return new JSONObject(new String(bytes.array(), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,158 @@
+package com.java.logic;
+
+import com.java.config.GuiConfig;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Catalog of every level, read from levels.json and pieces.json.
+ * The files are indexed once per process and each level is parsed the first time it is asked, so starting a level
+ * or building the menu does not read the whole files again. The catalog is shared by every InstanceManager.
+ * When the compiled LevelPack is up to date, the catalog decodes the levels from it instead.
+ */
+public class LevelCatalog {
+    /**
+     * Catalog shared by the whole game, null until it is first used.
+     */
+    private static volatile LevelCatalog shared;
+
+    /**
+     * Levels indexed by id, in the order of their ids, or the levels already decoded from the source.
+     */
+    private final Map<Integer, LevelDefinition> levels;
+    /**
+     * Source the levels are decoded from, null if every level is already in the map.
+     */
+    private final LevelSource source;
+
+    /**
+     * Constructor of the LevelCatalog.
+     * @param levels the levels indexed by id
+     */
+    public LevelCatalog(Map<Integer, LevelDefinition> levels) {
+        this.levels = Collections.unmodifiableMap(new TreeMap<>(levels));
+        this.source = null;
+    }
+
+    /**
+     * Constructor of a LevelCatalog reading a source, the levels are decoded when they are first asked.
+     * @param source the source of the levels, like a level pack
+     */
+    public LevelCatalog(LevelSource source) {
+        this.levels = new ConcurrentHashMap<>();
+        this.source = source;
+    }
+
+    /**
+     * @return the catalog shared by the whole game, read from the level pack or the resources on the first call
+     */
+    public static LevelCatalog get() {
+        LevelCatalog catalog = shared;
+        if (catalog == null) {
+            synchronized (LevelCatalog.class) {
+                if (shared == null) {
+                    LevelPack pack = LevelPack.openDefault();
+                    shared = pack != null ? new LevelCatalog(pack) : load(Path.of(GuiConfig.resPath, "maps"));
+                }
+                catalog = shared;
+            }
+        }
+        return catalog;
+    }
+
+    /**
+     * Indexes the levels of a directory, the levels are parsed when they are first asked.
+     * If the files cannot be read, an error is printed and the catalog is empty.
+     * @param directory the directory of levels.json and pieces.json
+     * @return the catalog of the levels
+     */
+    public static LevelCatalog load(Path directory) {
+        try {
+            return new LevelCatalog(new JsonSource(JsonLevelIndex.build(directory.resolve("levels.json")),
+                    JsonLevelIndex.build(directory.resolve("pieces.json"))));
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("Error while loading the levels from the JSON files.");
+            System.out.println(e.getMessage());
+            return new LevelCatalog(Collections.emptyMap());
+        }
+    }
+
+    /**
+     * @param id id of a level
+     * @return the level, or null if there is no level with this id
+     */
+    public LevelDefinition getLevel(int id) {
+        LevelDefinition level = levels.get(id);
+        if (level == null && source != null) {
+            // Decoded at most a few times if several threads ask for it, the definitions are immutable
+            level = source.getLevel(id);
+            if (level != null) levels.put(id, level);
+        }
+        return level;
+    }
+
+    /**
+     * @return every level, in the order of their ids
+     */
+    public Collection<LevelDefinition> getLevels() {
+        if (source == null) return levels.values();
+        List<LevelDefinition> all = new ArrayList<>();
+        for (int id : source.getIds()) {
+            LevelDefinition level = getLevel(id);
+            if (level != null) all.add(level);
+        }
+        return Collections.unmodifiableList(all);
+    }
+
+    /**
+     * Levels of levels.json and pieces.json, each level is parsed from its entries only.
+     */
+    private static class JsonSource implements LevelSource {
+        /**
+         * Index of levels.json.
+         */
+        private final JsonLevelIndex levels;
+        /**
+         * Index of pieces.json.
+         */
+        private final JsonLevelIndex contents;
+
+        /**
+         * Constructor of the JsonSource.
+         * @param levels the index of levels.json
+         * @param contents the index of pieces.json
+         */
+        JsonSource(JsonLevelIndex levels, JsonLevelIndex contents) {
+            this.levels = levels;
+            this.contents = contents;
+        }
+
+        @Override
+        public int[] getIds() {
+            return levels.getIds();
+        }
+
+        @Override
+        public LevelDefinition getLevel(int id) {
+            try {
+                JSONObject level = levels.read(id);
+                if (level == null) return null;
+                return LevelDefinition.fromJson(level, contents.read(id));
+            } catch (IOException e) {
+                System.out.println("Error while loading the level " + id + " from the JSON files.");
+                System.out.println(e.getMessage());
+                return null;
+            }
+        }
+    }
+}
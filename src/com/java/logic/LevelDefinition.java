@@ -0,0 +1,180 @@
+package com.java.logic;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Immutable definition of a level: its entry in levels.json and its pieces and targets in pieces.json.
+ */
+public class LevelDefinition {
+    /**
+     * Id of the level.
+     */
+    private final int id;
+    /**
+     * Name of the level.
+     */
+    private final String name;
+    /**
+     * Difficulty of the level.
+     */
+    private final String difficulty;
+    /**
+     * Minimal number of moves to solve the level.
+     */
+    private final int moves;
+    /**
+     * True if the level is locked.
+     */
+    private final boolean locked;
+    /**
+     * Map of the level, '1' for a playable cell and '0' for a hole, row by row.
+     */
+    private final String map;
+    /**
+     * Width of the map.
+     */
+    private final int width;
+    /**
+     * Height of the map.
+     */
+    private final int height;
+    /**
+     * Pieces of the level.
+     */
+    private final List<PieceDefinition> pieces;
+    /**
+     * Targets of the level.
+     */
+    private final List<TargetDefinition> targets;
+
+    /**
+     * Constructor of the LevelDefinition.
+     * @param id id of the level
+     * @param name name of the level
+     * @param difficulty difficulty of the level
+     * @param moves minimal number of moves to solve the level
+     * @param locked true if the level is locked
+     * @param map map of the level, row by row
+     * @param width width of the map
+     * @param height height of the map
+     * @param pieces pieces of the level
+     * @param targets targets of the level
+     */
+    public LevelDefinition(int id, String name, String difficulty, int moves, boolean locked, String map, int width,
+                           int height, List<PieceDefinition> pieces, List<TargetDefinition> targets) {
+        this.id = id;
+        this.name = name;
+        this.difficulty = difficulty;
+        this.moves = moves;
+        this.locked = locked;
+        this.map = map;
+        this.width = width;
+        this.height = height;
+        this.pieces = List.copyOf(pieces);
+        this.targets = List.copyOf(targets);
+    }
+
+    /**
+     * Reads a level from its JSON objects.
+     * @param level the JSON object of the level in levels.json
+     * @param content the JSON object of the level in pieces.json, null if the level has no pieces
+     * @return the definition of the level
+     */
+    public static LevelDefinition fromJson(JSONObject level, JSONObject content) {
+        JSONObject mapJson = level.getJSONObject("map");
+        JSONArray data = mapJson.getJSONArray("data");
+        StringBuilder map = new StringBuilder();
+        for (int i = 0; i < data.length(); i++) map.append(data.getString(i));
+
+        List<PieceDefinition> pieces = new ArrayList<>();
+        List<TargetDefinition> targets = new ArrayList<>();
+        if (content != null) {
+            JSONArray piecesJson = content.getJSONArray("pieces");
+            for (int i = 0; i < piecesJson.length(); i++) {
+                pieces.add(PieceDefinition.fromJson(piecesJson.getJSONObject(i)));
+            }
+            JSONArray targetsJson = content.getJSONArray("targets");
+            for (int i = 0; i < targetsJson.length(); i++) {
+                targets.add(TargetDefinition.fromJson(targetsJson.getJSONObject(i)));
+            }
+        }
+        return new LevelDefinition(level.getInt("id"), level.optString("name", ""), level.optString("difficulty", ""),
+                level.getInt("moves"), level.getBoolean("locked"), map.toString(), mapJson.getInt("width"),
+                mapJson.getInt("height"), pieces, targets);
+    }
+
+    /**
+     * @return the id of the level
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * @return the name of the level
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the difficulty of the level
+     */
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * @return the minimal number of moves to solve the level
+     */
+    public int getMoves() {
+        return moves;
+    }
+
+    /**
+     * @return true if the level is locked
+     */
+    public boolean isLocked() {
+        return locked;
+    }
+
+    /**
+     * @return the map of the level, '1' for a playable cell and '0' for a hole, row by row
+     */
+    public String getMap() {
+        return map;
+    }
+
+    /**
+     * @return the width of the map
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return the height of the map
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return the pieces of the level
+     */
+    public List<PieceDefinition> getPieces() {
+        return pieces;
+    }
+
+    /**
+     * @return the targets of the level
+     */
+    public List<TargetDefinition> getTargets() {
+        return targets;
+    }
+}
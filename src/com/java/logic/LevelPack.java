@@ -0,0 +1,395 @@
+package com.java.logic;
+
+import com.java.config.GuiConfig;
+import com.java.piece.ShapeOrientations;
+import com.java.piece.ShapeRegistry;
+import com.java.utils.Debug;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Binary pack of the levels, compiled from levels.json, pieces.json and shapes.json by LevelPackMain.
+ * The file is memory-mapped and a level is only decoded when it is asked, with a binary search in the index,
+ * so opening a level does not depend on the size of the pack and never uses org.json.
+ * Layout, in big endian:
+ * <ul>
+ *     <li>header: magic, version, number of shapes, of colours and of levels, offset of the index;</li>
+ *     <li>shapes: name, width, height and mask (cell (x, y) at bit y * 8 + x) of each shape;</li>
+ *     <li>colours: name of each colour;</li>
+ *     <li>index: id and offset of each level, sorted by id;</li>
+ *     <li>levels: moves, flags, size, name, difficulty, the arena with one bit per cell, then the pieces
+ *     (shape index, colour index, position and decorators) and the targets.</li>
+ * </ul>
+ * A decorator is 4 bytes: kind, action point and flags (translation directions, rotation clockwise and repeat,
+ * or flip axis). Strings are a length on 2 bytes followed by UTF-8 bytes.
+ */
+public class LevelPack implements LevelSource {
+    /**
+     * First bytes of a level pack.
+     */
+    private static final int MAGIC = 0x504C5650;
+    /**
+     * Version of the file format.
+     */
+    private static final int VERSION = 1;
+    /**
+     * Size of the header.
+     */
+    private static final int HEADER_BYTES = 24;
+    /**
+     * Kind of the decorators in the pack.
+     */
+    private static final String[] DECORATOR_TYPES = {"translation", "rotation", "flip"};
+
+    /**
+     * The mapped file.
+     */
+    private final MappedByteBuffer buffer;
+    /**
+     * Names of the shapes, by index.
+     */
+    private final String[] shapeNames;
+    /**
+     * Names of the colours, by index.
+     */
+    private final String[] colors;
+    /**
+     * Shapes of the pack, by name.
+     */
+    private final Map<String, ShapeOrientations> shapes = new HashMap<>();
+    /**
+     * Number of levels.
+     */
+    private final int levelCount;
+    /**
+     * Offset of the index in the file.
+     */
+    private final int indexOffset;
+
+    /**
+     * Reads the header and the tables of shapes and colours of a mapped pack.
+     * @param buffer the mapped file
+     */
+    private LevelPack(MappedByteBuffer buffer) {
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("The file is not a level pack.");
+        }
+        this.buffer = buffer;
+        this.shapeNames = new String[buffer.getInt(8)];
+        this.colors = new String[buffer.getInt(12)];
+        this.levelCount = buffer.getInt(16);
+        this.indexOffset = buffer.getInt(20);
+
+        ByteBuffer in = buffer.duplicate().position(HEADER_BYTES);
+        for (int i = 0; i < shapeNames.length; i++) {
+            shapeNames[i] = readString(in);
+            int width = in.get() & 0xFF;
+            int height = in.get() & 0xFF;
+            long mask = in.getLong();
+            boolean[][] shape = new boolean[height][width];
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) shape[y][x] = (mask >>> (y * 8 + x) & 1) != 0;
+            }
+            shapes.put(shapeNames[i], new ShapeOrientations(shape));
+        }
+        for (int i = 0; i < colors.length; i++) colors[i] = readString(in);
+    }
+
+    /**
+     * @return the path of the level pack in the resources
+     */
+    public static Path defaultPath() {
+        return Path.of(GuiConfig.resPath, "levels.pack");
+    }
+
+    /**
+     * Opens the level pack of the resources, if it has been compiled after the last change of the JSON files.
+     * @return the pack, or null if it does not exist or is older than one of the JSON files
+     */
+    public static LevelPack openDefault() {
+        Path pack = defaultPath();
+        try {
+            if (!Files.exists(pack)) return null;
+            long compiled = Files.getLastModifiedTime(pack).toMillis();
+            for (Path source : sources()) {
+                if (Files.exists(source) && Files.getLastModifiedTime(source).toMillis() > compiled) {
+                    Debug.out("The level pack is older than " + source + ", the JSON files are used.");
+                    return null;
+                }
+            }
+            return open(pack);
+        } catch (IOException | UncheckedIOException | IllegalArgumentException e) {
+            System.out.println("Error while opening the level pack: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return the JSON files compiled into the pack of the resources
+     */
+    private static Path[] sources() {
+        return new Path[]{Path.of(GuiConfig.resPath, "maps", "levels.json"),
+                Path.of(GuiConfig.resPath, "maps", "pieces.json"), Path.of(GuiConfig.resPath, "shapes.json")};
+    }
+
+    /**
+     * Maps a level pack.
+     * @param path the file of the pack
+     * @return the pack
+     * @throws UncheckedIOException if the file cannot be read
+     */
+    public static LevelPack open(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new LevelPack(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return the number of levels of the pack
+     */
+    public int getLevelCount() {
+        return levelCount;
+    }
+
+    @Override
+    public int[] getIds() {
+        int[] ids = new int[levelCount];
+        for (int i = 0; i < levelCount; i++) ids[i] = buffer.getInt(indexOffset + i * 8);
+        return ids;
+    }
+
+    /**
+     * @return the shapes of the pack
+     */
+    public ShapeRegistry getShapes() {
+        return new ShapeRegistry(shapes);
+    }
+
+    @Override
+    public LevelDefinition getLevel(int id) {
+        // Binary search in the index
+        int low = 0;
+        int high = levelCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int found = buffer.getInt(indexOffset + middle * 8);
+            if (found < id) low = middle + 1;
+            else if (found > id) high = middle - 1;
+            else return decode(id, buffer.getInt(indexOffset + middle * 8 + 4));
+        }
+        return null;
+    }
+
+    /**
+     * Decodes the record of a level.
+     * @param id id of the level
+     * @param offset offset of the record in the file
+     * @return the level
+     */
+    private LevelDefinition decode(int id, int offset) {
+        ByteBuffer in = buffer.duplicate().position(offset);
+        int moves = in.getShort() & 0xFFFF;
+        boolean locked = (in.get() & 1) != 0;
+        int width = in.get() & 0xFF;
+        int height = in.get() & 0xFF;
+        String name = readString(in);
+        String difficulty = readString(in);
+
+        // Arena, one bit per cell
+        char[] map = new char[width * height];
+        byte[] cells = new byte[(map.length + 7) / 8];
+        in.get(cells);
+        for (int i = 0; i < map.length; i++) map[i] = (cells[i >> 3] >> (i & 7) & 1) != 0 ? '1' : '0';
+
+        List<PieceDefinition> pieces = new ArrayList<>();
+        int pieceCount = in.get() & 0xFF;
+        for (int p = 0; p < pieceCount; p++) {
+            String shape = shapeNames[in.get() & 0xFF];
+            String color = colors[in.get() & 0xFF];
+            int x = in.get();
+            int y = in.get();
+            List<DecoratorDefinition> decorators = new ArrayList<>();
+            int decoratorCount = in.get() & 0xFF;
+            for (int d = 0; d < decoratorCount; d++) {
+                String type = DECORATOR_TYPES[in.get()];
+                int actionX = in.get();
+                int actionY = in.get();
+                int flags = in.get();
+                boolean[] directions = null;
+                if (type.equals("translation")) {
+                    directions = new boolean[4];
+                    for (int k = 0; k < 4; k++) directions[k] = (flags >> k & 1) != 0;
+                }
+                boolean rotation = type.equals("rotation");
+                decorators.add(new DecoratorDefinition(type, actionX, actionY, directions, rotation && (flags & 1) != 0,
+                        rotation ? flags >> 1 & 0x7F : 0, type.equals("flip") && (flags & 1) != 0));
+            }
+            pieces.add(new PieceDefinition(shape, color, x, y, decorators));
+        }
+
+        List<TargetDefinition> targets = new ArrayList<>();
+        int targetCount = in.get() & 0xFF;
+        for (int t = 0; t < targetCount; t++) {
+            int piece = in.get() & 0xFF;
+            int x = in.get();
+            int y = in.get();
+            int rotations = in.get();
+            int flags = in.get();
+            targets.add(new TargetDefinition(piece, x, y, rotations, (flags & 1) != 0, (flags & 2) != 0));
+        }
+        return new LevelDefinition(id, name, difficulty, moves, locked, new String(map), width, height, pieces,
+                targets);
+    }
+
+    /**
+     * @param in the buffer, positioned on a string
+     * @return the string, the buffer is positioned after it
+     */
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getShort() & 0xFFFF];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param out the stream to write to
+     * @param text the string to write
+     * @throws IOException if the stream cannot be written
+     */
+    private static void writeString(DataOutputStream out, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Compiles levels and their shapes into a pack file.
+     * @param catalog the levels
+     * @param registry the shapes used by the pieces of the levels
+     * @param path the file to write
+     * @return the size of the file in bytes
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if a piece uses a shape that is not in the registry
+     */
+    public static int compile(LevelCatalog catalog, ShapeRegistry registry, Path path) throws IOException {
+        List<String> shapeNames = new ArrayList<>(registry.getTypes());
+        shapeNames.sort(null);
+        List<String> colors = new ArrayList<>();
+        List<LevelDefinition> levels = new ArrayList<>(catalog.getLevels());
+
+        // Records of the levels, the colours are collected on the way
+        ByteArrayOutputStream records = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(records);
+        int[] offsets = new int[levels.size()];
+        for (int l = 0; l < levels.size(); l++) {
+            LevelDefinition level = levels.get(l);
+            offsets[l] = out.size();
+            out.writeShort(level.getMoves());
+            out.writeByte(level.isLocked() ? 1 : 0);
+            out.writeByte(level.getWidth());
+            out.writeByte(level.getHeight());
+            writeString(out, level.getName());
+            writeString(out, level.getDifficulty());
+
+            String map = level.getMap();
+            byte[] cells = new byte[(level.getWidth() * level.getHeight() + 7) / 8];
+            for (int i = 0; i < map.length() && i < cells.length * 8; i++) {
+                if (map.charAt(i) == '1') cells[i >> 3] |= (byte) (1 << (i & 7));
+            }
+            out.write(cells);
+
+            out.writeByte(level.getPieces().size());
+            for (PieceDefinition piece : level.getPieces()) {
+                int shape = shapeNames.indexOf(piece.getShape());
+                if (shape < 0) throw new IllegalArgumentException("Unknown shape " + piece.getShape() + ".");
+                if (!colors.contains(piece.getColor())) colors.add(piece.getColor());
+                out.writeByte(shape);
+                out.writeByte(colors.indexOf(piece.getColor()));
+                out.writeByte(piece.getX());
+                out.writeByte(piece.getY());
+                out.writeByte(piece.getDecorators().size());
+                for (DecoratorDefinition decorator : piece.getDecorators()) {
+                    int flags;
+                    switch (decorator.getType()) {
+                        case "rotation" -> {
+                            out.writeByte(1);
+                            flags = (decorator.isClockwise() ? 1 : 0) | decorator.getRepeat() << 1;
+                        }
+                        case "flip" -> {
+                            out.writeByte(2);
+                            flags = decorator.isHorizontal() ? 1 : 0;
+                        }
+                        default -> {
+                            out.writeByte(0);
+                            boolean[] directions = decorator.getDirections();
+                            flags = 0;
+                            for (int k = 0; k < 4; k++) if (directions[k]) flags |= 1 << k;
+                        }
+                    }
+                    out.writeByte(decorator.getX());
+                    out.writeByte(decorator.getY());
+                    out.writeByte(flags);
+                }
+            }
+
+            out.writeByte(level.getTargets().size());
+            for (TargetDefinition target : level.getTargets()) {
+                out.writeByte(target.getPiece());
+                out.writeByte(target.getX());
+                out.writeByte(target.getY());
+                out.writeByte(target.getRotations());
+                out.writeByte((target.isFlippedX() ? 1 : 0) | (target.isFlippedY() ? 2 : 0));
+            }
+        }
+
+        // Tables of shapes and colours
+        ByteArrayOutputStream tables = new ByteArrayOutputStream();
+        DataOutputStream table = new DataOutputStream(tables);
+        for (String name : shapeNames) {
+            boolean[][] shape = registry.getShape(name).getShape(0);
+            writeString(table, name);
+            table.writeByte(shape[0].length);
+            table.writeByte(shape.length);
+            table.writeLong(registry.getShape(name).getMask(0));
+        }
+        for (String color : colors) writeString(table, color);
+
+        int indexOffset = HEADER_BYTES + table.size();
+        int recordsOffset = indexOffset + levels.size() * 8;
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        try (DataOutputStream file = new DataOutputStream(Files.newOutputStream(path))) {
+            file.writeInt(MAGIC);
+            file.writeInt(VERSION);
+            file.writeInt(shapeNames.size());
+            file.writeInt(colors.size());
+            file.writeInt(levels.size());
+            file.writeInt(indexOffset);
+            tables.writeTo(file);
+            // The catalog gives the levels in the order of their ids
+            for (int l = 0; l < levels.size(); l++) {
+                file.writeInt(levels.get(l).getId());
+                file.writeInt(recordsOffset + offsets[l]);
+            }
+            records.writeTo(file);
+            return file.size();
+        }
+    }
+}
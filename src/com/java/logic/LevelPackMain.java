@@ -0,0 +1,35 @@
+package com.java.logic;
+
+import com.java.config.GuiConfig;
+import com.java.piece.ShapeRegistry;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+
+/**
+ * Command line entry point compiling levels.json, pieces.json and shapes.json into the level pack of the resources.
+ * Usage: LevelPackMain [output file], the pack is written in src/com/resources/levels.pack by default.
+ */
+public class LevelPackMain {
+    /**
+     * @param args arguments passed in the terminal
+     * @throws IOException if the pack cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        Path path = args.length > 0 ? Path.of(args[0]) : LevelPack.defaultPath();
+        long start = System.nanoTime();
+        // Always compiled from the JSON files, never from an older pack
+        LevelCatalog catalog = LevelCatalog.load(Path.of(GuiConfig.resPath, "maps"));
+        ShapeRegistry shapes = ShapeRegistry.load(Path.of(GuiConfig.resPath, "shapes.json"));
+        int bytes = LevelPack.compile(catalog, shapes, path);
+        System.out.printf("%d levels, %d bytes written in %s in %.2f ms%n", catalog.getLevels().size(), bytes, path,
+                (System.nanoTime() - start) / 1e6);
+
+        // Time to open the pack and decode every level
+        start = System.nanoTime();
+        LevelPack pack = LevelPack.open(path);
+        for (int id : pack.getIds()) pack.getLevel(id);
+        System.out.printf("Opened and decoded in %.3f ms%n", (System.nanoTime() - start) / 1e6);
+    }
+}
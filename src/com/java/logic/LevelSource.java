@@ -0,0 +1,20 @@
+package com.java.logic;
+
+
+/**
+ * Source of levels decoded one by one, when they are asked.
+ * @see LevelCatalog
+ */
+public interface LevelSource {
+    /**
+     * @return the ids of the levels, in increasing order
+     */
+    int[] getIds();
+
+    /**
+     * Decodes a level.
+     * @param id id of the level
+     * @return the level, or null if there is no level with this id
+     */
+    LevelDefinition getLevel(int id);
+}
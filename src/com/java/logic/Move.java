@@ -20,14 +20,20 @@ public class Move extends AbstractUndoableEdit {
      * The direction of the move.
      */
     private final Direction dir;
+    /**
+     * The pieces of the game, their state is updated when the move is redone or undone.
+     */
+    private final PieceLogic pieceLogic;
 
     /**
      * Creates a new Move object with the given piece.
      * @param piece the piece that will be moved
+     * @param pieceLogic the pieces of the game
      */
-    public Move(Decorator piece) {
+    public Move(Decorator piece, PieceLogic pieceLogic) {
         // Initialize the piece
         this.piece = piece;
+        this.pieceLogic = pieceLogic;
         // If the piece is a Translation, get the direction
         if (piece instanceof Translation) {
             this.dir = ((Translation) piece).getDir();
@@ -45,6 +51,7 @@ public class Move extends AbstractUndoableEdit {
             ((Translation) piece).setDir(dir);
         }
         piece.personalAction();
+        pieceLogic.pieceMoved(piece);
     }
 
     /**
@@ -56,5 +63,6 @@ public class Move extends AbstractUndoableEdit {
             ((Translation) piece).setDir(dir);
         }
         piece.personalReverseAction();
+        pieceLogic.pieceMoved(piece);
     }
 }
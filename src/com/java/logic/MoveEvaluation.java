@@ -0,0 +1,97 @@
+package com.java.logic;
+
+import com.java.piece.decorator.Decorator;
+
+
+/**
+ * Result of the evaluation of a move, computed without modifying the piece.
+ * It contains the legality of the move and where the piece would be after it.
+ * @see Decorator#evaluate(PieceLogic, Arena)
+ */
+public class MoveEvaluation {
+    /**
+     * The decorator of the move.
+     */
+    private final Decorator decorator;
+    /**
+     * True if the piece would stay on playable cells without covering another piece.
+     */
+    private final boolean legal;
+    /**
+     * Orientation index of the piece after the move.
+     */
+    private final int orientation;
+    /**
+     * Offset of the piece on the X-axis after the move.
+     */
+    private final int offsetX;
+    /**
+     * Offset of the piece on the Y-axis after the move.
+     */
+    private final int offsetY;
+    /**
+     * Cells covered by the piece after the move, as a bit mask.
+     */
+    private final long footprint;
+
+    /**
+     * Constructor of the MoveEvaluation.
+     * @param decorator the decorator of the move
+     * @param legal true if the move is legal
+     * @param orientation orientation index of the piece after the move
+     * @param offsetX offset of the piece on the X-axis after the move
+     * @param offsetY offset of the piece on the Y-axis after the move
+     * @param footprint cells covered by the piece after the move
+     */
+    public MoveEvaluation(Decorator decorator, boolean legal, int orientation, int offsetX, int offsetY,
+                          long footprint) {
+        this.decorator = decorator;
+        this.legal = legal;
+        this.orientation = orientation;
+        this.offsetX = offsetX;
+        this.offsetY = offsetY;
+        this.footprint = footprint;
+    }
+
+    /**
+     * @return the decorator of the move
+     */
+    public Decorator getDecorator() {
+        return decorator;
+    }
+
+    /**
+     * @return true if the move is legal
+     */
+    public boolean isLegal() {
+        return legal;
+    }
+
+    /**
+     * @return the orientation index of the piece after the move
+     */
+    public int getOrientation() {
+        return orientation;
+    }
+
+    /**
+     * @return the offset of the piece on the X-axis after the move
+     */
+    public int getOffsetX() {
+        return offsetX;
+    }
+
+    /**
+     * @return the offset of the piece on the Y-axis after the move
+     */
+    public int getOffsetY() {
+        return offsetY;
+    }
+
+    /**
+     * @return the cells covered by the piece after the move, as a bit mask
+     */
+    public long getFootprint() {
+        return footprint;
+    }
+}
@@ -0,0 +1,101 @@
+package com.java.logic;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Immutable definition of a piece of a level, as written in pieces.json.
+ */
+public class PieceDefinition {
+    /**
+     * Type of the shape of the piece, like "OShape".
+     */
+    private final String shape;
+    /**
+     * Name of the colour of the piece, like "blue".
+     */
+    private final String color;
+    /**
+     * Position of the piece on the X-axis.
+     */
+    private final int x;
+    /**
+     * Position of the piece on the Y-axis.
+     */
+    private final int y;
+    /**
+     * Decorators of the piece, from the first one added to the last one.
+     */
+    private final List<DecoratorDefinition> decorators;
+
+    /**
+     * Constructor of the PieceDefinition.
+     * @param shape type of the shape of the piece
+     * @param color name of the colour of the piece
+     * @param x position of the piece on the X-axis
+     * @param y position of the piece on the Y-axis
+     * @param decorators decorators of the piece, from the first one added to the last one
+     */
+    public PieceDefinition(String shape, String color, int x, int y, List<DecoratorDefinition> decorators) {
+        this.shape = shape;
+        this.color = color;
+        this.x = x;
+        this.y = y;
+        this.decorators = List.copyOf(decorators);
+    }
+
+    /**
+     * Reads a piece from its JSON object in pieces.json.
+     * @param piece the JSON object of the piece
+     * @return the definition of the piece
+     */
+    public static PieceDefinition fromJson(JSONObject piece) {
+        JSONArray position = piece.getJSONArray("position");
+        JSONArray decoratorsJson = piece.getJSONArray("decorators");
+        List<DecoratorDefinition> decorators = new ArrayList<>();
+        for (int i = 0; i < decoratorsJson.length(); i++) {
+            decorators.add(DecoratorDefinition.fromJson(decoratorsJson.getJSONObject(i)));
+        }
+        return new PieceDefinition(piece.getString("shape"), piece.getString("color"), position.getInt(0),
+                position.getInt(1), decorators);
+    }
+
+    /**
+     * @return the type of the shape of the piece
+     */
+    public String getShape() {
+        return shape;
+    }
+
+    /**
+     * @return the name of the colour of the piece
+     */
+    public String getColor() {
+        return color;
+    }
+
+    /**
+     * @return the position of the piece on the X-axis
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * @return the position of the piece on the Y-axis
+     */
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * @return the decorators of the piece, from the first one added to the last one
+     */
+    public List<DecoratorDefinition> getDecorators() {
+        return decorators;
+    }
+}
@@ -1,10 +1,13 @@
 package com.java.logic;
 
+import com.java.geometry.BitBoard;
 import com.java.geometry.IntCoordinates;
+import com.java.piece.PieceBrute;
 import com.java.piece.Target;
 import com.java.piece.decorator.Decorator;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 
 /**
@@ -20,6 +23,18 @@ public class PieceLogic {
      * Arrays of Target that represents the targets of the game.
      */
     private final ArrayList<Target> targets;
+    /**
+     * Packed snapshot of the pieces, built when it is first asked for and then updated after each move.
+     */
+    private GameState state;
+    /**
+     * Cells covered by each piece after its last move, in the order of the pieces.
+     */
+    private long[] footprints = new long[0];
+    /**
+     * Cells whose content has changed since the last call to takeDirtyCells, as a bit mask.
+     */
+    private long dirtyCells = 0;
 
     /**
      * Creates a new PieceLogic object.
@@ -58,12 +73,35 @@ public class PieceLogic {
         return true;
     }
 
+    /**
+     * @return the cells of the arena covered by the pieces as a bit mask
+     */
+    public long getOccupancy() {
+        return getOccupancy(null);
+    }
+
+    /**
+     * @param except a piece to ignore, usually the piece that is moving
+     * @return the cells of the arena covered by the other pieces as a bit mask
+     */
+    public long getOccupancy(PieceBrute except) {
+        long occupancy = 0;
+        for (Decorator piece : pieces) {
+            if (piece.getPiece() != except) occupancy |= piece.getPiece().getFootprint();
+        }
+        return occupancy;
+    }
+
     /**
      * Add a piece to the game.
      * @param p the piece to add
      */
     public void addPiece(Decorator p){
         pieces.add(p);
+        state = null;
+        footprints = Arrays.copyOf(footprints, pieces.size());
+        footprints[pieces.size() - 1] = p.getPiece().getFootprint();
+        dirtyCells |= footprints[pieces.size() - 1];
     }
 
     /**
@@ -71,6 +109,46 @@ public class PieceLogic {
      */
     public void clearPieces(){
         pieces.clear();
+        state = null;
+        footprints = new long[0];
+        dirtyCells = BitBoard.OUTSIDE;
+    }
+
+    /**
+     * Updates the snapshot of the pieces after a piece has moved.
+     * Only the moved piece is packed again and the hash is updated incrementally.
+     * The cells it covered before and after the move are marked as changed.
+     * @param moved any decorator of the piece that moved
+     */
+    public void pieceMoved(Decorator moved) {
+        for (int i = 0; i < pieces.size(); i++) {
+            if (pieces.get(i).getPiece() == moved.getPiece()) {
+                long footprint = moved.getPiece().getFootprint();
+                dirtyCells |= footprints[i] | footprint;
+                footprints[i] = footprint;
+                if (state != null) state = state.update(this, i);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gives the cells whose content has changed since the last call, and forgets them.
+     * A move changes the cells covered by the moved piece before and after it, decorators included.
+     * @return the changed cells as a bit mask, BitBoard.OUTSIDE if every cell may have changed
+     */
+    public long takeDirtyCells() {
+        long cells = dirtyCells;
+        dirtyCells = 0;
+        return cells;
+    }
+
+    /**
+     * @return the packed snapshot of the current state of the pieces
+     */
+    public GameState getState() {
+        if (state == null) state = GameState.of(this);
+        return state;
     }
 
     /**
@@ -0,0 +1,260 @@
+package com.java.logic;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+
+/**
+ * Progress of the player: the unlocked levels, the best number of moves and the best number of stars of each level.
+ * It is kept in its own file, so the definitions of the levels in levels.json are never written by the game.
+ * The updates are applied in memory and the file is written by a background thread: several updates made
+ * while a write is waiting are saved by a single write. The file is written next to the old one, forced to
+ * the disk, then moved over it, so a crash leaves either the old progress or the new one, never a partial file.
+ */
+public class ProgressStore {
+    /**
+     * Default file of the progress, in the home directory of the player.
+     */
+    public static final Path DEFAULT_PATH = Path.of(System.getProperty("user.home"), ".pieceout", "progress.json");
+    /**
+     * Value returned for the best number of moves or stars of a level never won.
+     */
+    public static final int NONE = -1;
+    /**
+     * Store shared by the whole game, null until it is first used.
+     */
+    private static volatile ProgressStore shared;
+
+    /**
+     * File of the progress.
+     */
+    private final Path file;
+    /**
+     * Ids of the levels unlocked by the player, on top of the levels unlocked in levels.json.
+     */
+    private final Set<Integer> unlocked = new HashSet<>();
+    /**
+     * Best number of moves of each level won.
+     */
+    private final Map<Integer, Integer> bestMoves = new HashMap<>();
+    /**
+     * Best number of stars of each level won.
+     */
+    private final Map<Integer, Integer> stars = new HashMap<>();
+    /**
+     * Thread writing the file.
+     */
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "progress-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /**
+     * True while a write is waiting to start, the updates made meanwhile are saved by this write.
+     */
+    private final AtomicBoolean pending = new AtomicBoolean(false);
+
+    /**
+     * Opens the progress stored in a file, the progress is empty if the file does not exist or cannot be read.
+     * @param file the file of the progress
+     */
+    public ProgressStore(Path file) {
+        this.file = file;
+        read();
+    }
+
+    /**
+     * @return the store shared by the whole game, its pending writes are saved when the game exits
+     */
+    public static ProgressStore get() {
+        ProgressStore store = shared;
+        if (store == null) {
+            synchronized (ProgressStore.class) {
+                if (shared == null) {
+                    shared = new ProgressStore(DEFAULT_PATH);
+                    ProgressStore created = shared;
+                    Runtime.getRuntime().addShutdownHook(new Thread(created::close, "progress-flush"));
+                }
+                store = shared;
+            }
+        }
+        return store;
+    }
+
+    /**
+     * Reads the file of the progress.
+     */
+    private synchronized void read() {
+        if (!Files.exists(file)) return;
+        try {
+            JSONArray levels = new JSONObject(Files.readString(file)).getJSONArray("levels");
+            for (int i = 0; i < levels.length(); i++) {
+                JSONObject level = levels.getJSONObject(i);
+                int id = level.getInt("id");
+                if (level.optBoolean("unlocked", false)) unlocked.add(id);
+                if (level.has("moves")) bestMoves.put(id, level.getInt("moves"));
+                if (level.has("stars")) stars.put(id, level.getInt("stars"));
+            }
+        } catch (IOException | JSONException e) {
+            System.out.println("Error while reading the progress, starting from the levels.json locks.");
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * @param id id of a level
+     * @return true if the level is unlocked by the player or in levels.json
+     */
+    public synchronized boolean isUnlocked(int id) {
+        if (unlocked.contains(id)) return true;
+        LevelDefinition level = LevelCatalog.get().getLevel(id);
+        return level != null && !level.isLocked();
+    }
+
+    /**
+     * @param id id of a level
+     * @return the best number of moves of the level, or NONE if it was never won
+     */
+    public synchronized int getBestMoves(int id) {
+        return bestMoves.getOrDefault(id, NONE);
+    }
+
+    /**
+     * @param id id of a level
+     * @return the best number of stars of the level, or NONE if it was never won
+     */
+    public synchronized int getStars(int id) {
+        return stars.getOrDefault(id, NONE);
+    }
+
+    /**
+     * Unlocks levels and saves the progress in the background.
+     * @param ids ids of the levels to unlock
+     */
+    public void unlock(int... ids) {
+        synchronized (this) {
+            for (int id : ids) unlocked.add(id);
+        }
+        scheduleWrite();
+    }
+
+    /**
+     * Records a win: the level and the next one are unlocked and the best scores are kept.
+     * The progress is saved in the background, the method never waits for the disk.
+     * @param id id of the level won
+     * @param moves number of moves made by the player
+     * @param rating number of stars earned
+     */
+    public void recordWin(int id, int moves, int rating) {
+        synchronized (this) {
+            unlocked.add(id);
+            unlocked.add(id + 1);
+            bestMoves.merge(id, moves, Math::min);
+            stars.merge(id, rating, Math::max);
+        }
+        scheduleWrite();
+    }
+
+    /**
+     * Queues a write of the file, unless a write is already waiting to start.
+     */
+    private void scheduleWrite() {
+        if (pending.compareAndSet(false, true)) {
+            writer.execute(() -> {
+                // The updates made from now on need another write
+                pending.set(false);
+                write(snapshot());
+            });
+        }
+    }
+
+    /**
+     * @return the progress as a JSON document
+     */
+    private synchronized String snapshot() {
+        Set<Integer> ids = new TreeSet<>(unlocked);
+        ids.addAll(bestMoves.keySet());
+        ids.addAll(stars.keySet());
+        JSONArray levels = new JSONArray();
+        for (int id : ids) {
+            JSONObject level = new JSONObject();
+            level.put("id", id);
+            level.put("unlocked", unlocked.contains(id));
+            if (bestMoves.containsKey(id)) level.put("moves", bestMoves.get(id));
+            if (stars.containsKey(id)) level.put("stars", stars.get(id));
+            levels.put(level);
+        }
+        return new JSONObject().put("levels", levels).toString(4);
+    }
+
+    /**
+     * Replaces the file by a new content: a temporary file is written and forced to the disk, then renamed.
+     * @param content the new content of the file
+     */
+    private void write(String content) {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) channel.write(buffer);
+                channel.force(true);
+            }
+            try {
+                Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            System.out.println("Error while saving the progress: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Waits until every update made before the call is saved.
+     */
+    public void flush() {
+        try {
+            writer.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            System.out.println("Error while saving the progress: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Saves the pending updates and stops the writer, the store must not be updated afterwards.
+     */
+    public void close() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                System.out.println("The progress could not be saved in time.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
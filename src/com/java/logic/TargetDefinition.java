@@ -0,0 +1,106 @@
+package com.java.logic;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+
+/**
+ * Immutable definition of a target of a level, as written in pieces.json.
+ */
+public class TargetDefinition {
+    /**
+     * Index of the piece that must reach the target.
+     */
+    private final int piece;
+    /**
+     * Position of the target on the X-axis.
+     */
+    private final int x;
+    /**
+     * Position of the target on the Y-axis.
+     */
+    private final int y;
+    /**
+     * Number of clockwise rotations of the shape of the target.
+     */
+    private final int rotations;
+    /**
+     * True if the shape of the target is flipped on the X-axis.
+     */
+    private final boolean flippedX;
+    /**
+     * True if the shape of the target is flipped on the Y-axis.
+     */
+    private final boolean flippedY;
+
+    /**
+     * Constructor of the TargetDefinition.
+     * @param piece index of the piece that must reach the target
+     * @param x position of the target on the X-axis
+     * @param y position of the target on the Y-axis
+     * @param rotations number of clockwise rotations of the shape
+     * @param flippedX true if the shape is flipped on the X-axis
+     * @param flippedY true if the shape is flipped on the Y-axis
+     */
+    public TargetDefinition(int piece, int x, int y, int rotations, boolean flippedX, boolean flippedY) {
+        this.piece = piece;
+        this.x = x;
+        this.y = y;
+        this.rotations = rotations;
+        this.flippedX = flippedX;
+        this.flippedY = flippedY;
+    }
+
+    /**
+     * Reads a target from its JSON object in pieces.json.
+     * @param target the JSON object of the target
+     * @return the definition of the target
+     */
+    public static TargetDefinition fromJson(JSONObject target) {
+        JSONArray position = target.getJSONArray("position");
+        return new TargetDefinition(target.getInt("id"), position.getInt(0), position.getInt(1),
+                target.getInt("rotations"), target.getBoolean("flip_x"), target.getBoolean("flip_y"));
+    }
+
+    /**
+     * @return the index of the piece that must reach the target
+     */
+    public int getPiece() {
+        return piece;
+    }
+
+    /**
+     * @return the position of the target on the X-axis
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * @return the position of the target on the Y-axis
+     */
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * @return the number of clockwise rotations of the shape of the target
+     */
+    public int getRotations() {
+        return rotations;
+    }
+
+    /**
+     * @return true if the shape of the target is flipped on the X-axis
+     */
+    public boolean isFlippedX() {
+        return flippedX;
+    }
+
+    /**
+     * @return true if the shape of the target is flipped on the Y-axis
+     */
+    public boolean isFlippedY() {
+        return flippedY;
+    }
+}
@@ -1,5 +1,6 @@
 package com.java.main;
 
+import com.java.config.Assets;
 import com.java.config.GuiConfig;
 import com.java.gui.UI.Launcher;
 import com.java.gui.sound.SoundManager;
@@ -15,6 +16,8 @@ public class Main {
      * @param args arguments passed in the terminal
      */
     public static void main(String[] args){
+        // Decode the images, fonts and sounds in the background while the launcher is shown
+        Assets.preload().thenRun(Assets::printTimings);
 
         Dimension screenSize = Toolkit.getDefaultToolkit().getScreenSize();
         double width = screenSize.getWidth();
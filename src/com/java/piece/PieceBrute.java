@@ -1,5 +1,6 @@
 package com.java.piece;
 
+import com.java.geometry.BitBoard;
 import com.java.geometry.IntCoordinates;
 
 import java.awt.*;
@@ -31,6 +32,19 @@ public abstract class PieceBrute extends Piece {
      * Array of IntCoordinates(x,y) that contains the coordinates where shape[y][x] is true.
      */
     private IntCoordinates[] posShape;
+    /**
+     * Mask of the shape with its top left corner at bit 0.
+     * @see BitBoard
+     */
+    private long shapeMask;
+    /**
+     * Precomputed orientations of the shape, null if the piece has no shape.
+     */
+    private ShapeOrientations orientations;
+    /**
+     * Index of the current orientation in the orientations table.
+     */
+    private int orientation;
 
     /**
      * @return the color of the piece
@@ -55,11 +69,54 @@ public abstract class PieceBrute extends Piece {
 
     /**
      * Method that set a new shape to the piece.
+     * The orientations of the new shape are computed, prefer setOrientations for shapes shared by several pieces.
      * @param shape New shape we want to give to our piece
      */
     public void setShape(boolean[][] shape) {
-        this.shape = shape;
-        this.posShape = generatePosShape();
+        if (shape == null) {
+            this.orientations = null;
+            this.orientation = 0;
+            this.shape = null;
+            this.posShape = null;
+            this.shapeMask = 0;
+        } else {
+            setOrientations(new ShapeOrientations(shape), 0);
+        }
+    }
+
+    /**
+     * Sets the table of orientations of the piece and its current orientation.
+     * @param orientations the precomputed orientations of the shape
+     * @param orientation index of the current orientation
+     */
+    public void setOrientations(ShapeOrientations orientations, int orientation) {
+        this.orientations = orientations;
+        setOrientation(orientation);
+    }
+
+    /**
+     * Changes the orientation of the piece. The shape is taken from the table, nothing is allocated.
+     * @param orientation index of the new orientation
+     */
+    public void setOrientation(int orientation) {
+        this.orientation = orientation;
+        this.shape = orientations.getShape(orientation);
+        this.posShape = orientations.getPosShape(orientation);
+        this.shapeMask = orientations.getMask(orientation);
+    }
+
+    /**
+     * @return the precomputed orientations of the shape
+     */
+    public ShapeOrientations getOrientations() {
+        return orientations;
+    }
+
+    /**
+     * @return the index of the current orientation
+     */
+    public int getOrientation() {
+        return orientation;
     }
 
     /**
@@ -97,26 +154,12 @@ public abstract class PieceBrute extends Piece {
     }
 
     /**
-     * Method that generates the coordinates of the shape matrix where shape[y][x] is true.
-     * @return an array of IntCoordinates(x,y) that contains the coordinates where shape[y][x] is true
+     * @return the cells of the arena covered by the piece as a bit mask, BitBoard.OUTSIDE if it is off the board
      */
-    public IntCoordinates[] generatePosShape() {
-        if (this.getShape() == null) {
-            return null;
-        }
-        IntCoordinates[] pos = new IntCoordinates[this.getShape().length * this.getShape()[0].length];
-        int n = 0;
-        for (int i = 0; i < this.getShape().length; i++) {
-            for (int j = 0; j < this.getShape()[0].length; j++) {
-                if (this.getShape()[i][j]) {
-                    pos[n] = new IntCoordinates(j, i);
-                    n++;
-                }
-            }
-        }
-        IntCoordinates[] pos2 = new IntCoordinates[n];
-        System.arraycopy(pos, 0, pos2, 0, n);
-        return pos2;
+    public long getFootprint() {
+        if (shape == null) return 0;
+        return BitBoard.place(shapeMask, shape[0].length, shape.length,
+                pos.getX() - fixturePoint.getX(), pos.getY() - fixturePoint.getY());
     }
 
     /**
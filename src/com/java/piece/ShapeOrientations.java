@@ -0,0 +1,191 @@
+package com.java.piece;
+
+import com.java.geometry.BitBoard;
+import com.java.geometry.IntCoordinates;
+
+
+/**
+ * Table of the 8 orientations (4 rotations, mirrored or not) of a shape, computed once.
+ * The orientation k is the base shape mirrored on the Y-axis if k >= 4, then rotated clockwise (k % 4) times.
+ * Rotating or flipping a piece is then a change of index, and the shape, the cells and the mask of each
+ * orientation are shared by every piece using the table. They must never be modified.
+ * @see ShapeRegistry
+ */
+public class ShapeOrientations {
+    /**
+     * Number of orientations of a shape.
+     */
+    public static final int COUNT = 8;
+    /**
+     * Shared coordinates returned by the remapping of points, indexed as POINTS[y][x].
+     */
+    private static final IntCoordinates[][] POINTS = new IntCoordinates[BitBoard.STRIDE][BitBoard.STRIDE];
+
+    static {
+        for (int i = 0; i < BitBoard.STRIDE; i++) {
+            for (int j = 0; j < BitBoard.STRIDE; j++) {
+                POINTS[i][j] = new IntCoordinates(j, i);
+            }
+        }
+    }
+
+    /**
+     * Shape of each orientation.
+     */
+    private final boolean[][][] shapes = new boolean[COUNT][][];
+    /**
+     * Filled cells of each orientation.
+     */
+    private final IntCoordinates[][] posShapes = new IntCoordinates[COUNT][];
+    /**
+     * Mask of each orientation with its top left corner at bit 0.
+     */
+    private final long[] masks = new long[COUNT];
+
+    /**
+     * Computes the 8 orientations of a shape.
+     * @param base the shape in its first orientation
+     */
+    public ShapeOrientations(boolean[][] base) {
+        for (int k = 0; k < COUNT; k++) {
+            boolean[][] shape = k < 4 ? base : mirror(base);
+            for (int r = 0; r < k % 4; r++) shape = rotate(shape);
+            shapes[k] = shape;
+            masks[k] = BitBoard.mask(shape);
+            posShapes[k] = cells(shape);
+        }
+    }
+
+    /**
+     * @param orientation index of the current orientation
+     * @param clockwise true to rotate clockwise
+     * @return the index of the orientation after a rotation
+     */
+    public static int rotate(int orientation, boolean clockwise) {
+        int turns = (orientation + (clockwise ? 1 : 3)) % 4;
+        return (orientation & 4) | turns;
+    }
+
+    /**
+     * Mirroring a rotated shape is the same as mirroring the shape then rotating it the other way,
+     * and a flip on the X-axis is a flip on the Y-axis followed by a half turn.
+     * @param orientation index of the current orientation
+     * @param xAxis true to flip on the X-axis (rows are reversed), false for the Y-axis (columns are reversed)
+     * @return the index of the orientation after a flip
+     */
+    public static int flip(int orientation, boolean xAxis) {
+        int turns = ((xAxis ? 6 : 4) - orientation % 4) % 4;
+        return ((orientation & 4) ^ 4) | turns;
+    }
+
+    /**
+     * Remaps a point of the shape when the piece is rotated.
+     * A point outside the shape is left unchanged.
+     * @param orientation index of the orientation before the rotation
+     * @param point the point in the shape
+     * @param clockwise true for a clockwise rotation
+     * @return the point in the rotated shape, it is shared and must not be modified
+     */
+    public IntCoordinates rotatePoint(int orientation, IntCoordinates point, boolean clockwise) {
+        boolean[][] shape = shapes[orientation];
+        int x = point.getX();
+        int y = point.getY();
+        if (y < 0 || y >= shape.length || x < 0 || x >= shape[0].length) return point;
+        if (clockwise) return point(shape.length - y - 1, x);
+        return point(y, shape[0].length - x - 1);
+    }
+
+    /**
+     * Remaps a point of the shape when the piece is flipped.
+     * @param orientation index of the orientation before the flip
+     * @param point the point in the shape
+     * @param xAxis true to flip on the X-axis, false for the Y-axis
+     * @return the point in the flipped shape, it is shared and must not be modified
+     */
+    public IntCoordinates flipPoint(int orientation, IntCoordinates point, boolean xAxis) {
+        boolean[][] shape = shapes[orientation];
+        if (xAxis) return point(point.getX(), shape.length - point.getY() - 1);
+        return point(shape[0].length - point.getX() - 1, point.getY());
+    }
+
+    /**
+     * @param x coordinates on the X-axis
+     * @param y coordinates on the Y-axis
+     * @return shared coordinates for points on the board, new coordinates otherwise
+     */
+    private static IntCoordinates point(int x, int y) {
+        if (x < 0 || y < 0 || x >= BitBoard.STRIDE || y >= BitBoard.STRIDE) return new IntCoordinates(x, y);
+        return POINTS[y][x];
+    }
+
+    /**
+     * @param shape a shape
+     * @return the shape rotated 90 degrees clockwise
+     */
+    private static boolean[][] rotate(boolean[][] shape) {
+        boolean[][] rotated = new boolean[shape[0].length][shape.length];
+        for (int i = 0; i < shape.length; i++) {
+            for (int j = 0; j < shape[0].length; j++) {
+                rotated[j][shape.length - i - 1] = shape[i][j];
+            }
+        }
+        return rotated;
+    }
+
+    /**
+     * @param shape a shape
+     * @return the shape with its columns reversed
+     */
+    private static boolean[][] mirror(boolean[][] shape) {
+        boolean[][] mirrored = new boolean[shape.length][shape[0].length];
+        for (int i = 0; i < shape.length; i++) {
+            for (int j = 0; j < shape[0].length; j++) {
+                mirrored[i][j] = shape[i][shape[0].length - j - 1];
+            }
+        }
+        return mirrored;
+    }
+
+    /**
+     * @param shape a shape
+     * @return the coordinates (x, y) where shape[y][x] is true
+     */
+    private static IntCoordinates[] cells(boolean[][] shape) {
+        int n = 0;
+        for (boolean[] row : shape) {
+            for (boolean tile : row) if (tile) n++;
+        }
+        IntCoordinates[] cells = new IntCoordinates[n];
+        n = 0;
+        for (int i = 0; i < shape.length; i++) {
+            for (int j = 0; j < shape[0].length; j++) {
+                if (shape[i][j]) cells[n++] = new IntCoordinates(j, i);
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * @param orientation index of the orientation
+     * @return the shape in this orientation
+     */
+    public boolean[][] getShape(int orientation) {
+        return shapes[orientation];
+    }
+
+    /**
+     * @param orientation index of the orientation
+     * @return the filled cells of the shape in this orientation
+     */
+    public IntCoordinates[] getPosShape(int orientation) {
+        return posShapes[orientation];
+    }
+
+    /**
+     * @param orientation index of the orientation
+     * @return the mask of the shape in this orientation, with its top left corner at bit 0
+     */
+    public long getMask(int orientation) {
+        return masks[orientation];
+    }
+}
@@ -0,0 +1,103 @@
+package com.java.piece;
+
+import com.java.config.GuiConfig;
+import com.java.logic.LevelPack;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * Registry of every shape of shapes.json, parsed once per process.
+ * Each type of shape is interned as a single ShapeOrientations, whose shapes, cells and bit masks
+ * are shared by every piece and target of this type. Creating a piece is then a lookup by type.
+ */
+public class ShapeRegistry {
+    /**
+     * Registry shared by the whole game, null until it is first used.
+     */
+    private static volatile ShapeRegistry shared;
+
+    /**
+     * Orientations of each type of shape.
+     */
+    private final Map<String, ShapeOrientations> shapes;
+
+    /**
+     * Constructor of the ShapeRegistry.
+     * @param shapes the orientations of each type of shape
+     */
+    public ShapeRegistry(Map<String, ShapeOrientations> shapes) {
+        this.shapes = Collections.unmodifiableMap(new HashMap<>(shapes));
+    }
+
+    /**
+     * @return the registry shared by the whole game, read from the level pack or the resources on the first call
+     */
+    public static ShapeRegistry get() {
+        ShapeRegistry registry = shared;
+        if (registry == null) {
+            synchronized (ShapeRegistry.class) {
+                if (shared == null) {
+                    // The compiled level pack is preferred, it avoids parsing the JSON file
+                    LevelPack pack = LevelPack.openDefault();
+                    shared = pack != null ? pack.getShapes() : load(Path.of(GuiConfig.resPath, "shapes.json"));
+                }
+                registry = shared;
+            }
+        }
+        return registry;
+    }
+
+    /**
+     * Parses a file of shapes.
+     * If the file cannot be read, an error is printed and the registry is empty.
+     * @param file the file of shapes, like shapes.json
+     * @return the registry of the shapes of the file
+     */
+    public static ShapeRegistry load(Path file) {
+        try {
+            JSONArray shapeArray = new JSONObject(Files.readString(file)).getJSONArray("shapes");
+            Map<String, ShapeOrientations> shapes = new HashMap<>();
+            for (int i = 0; i < shapeArray.length(); i++) {
+                JSONObject type = shapeArray.getJSONObject(i);
+                JSONArray form = type.getJSONArray("form");
+                boolean[][] shape = new boolean[type.getInt("height")][type.getInt("width")];
+                for (int j = 0; j < shape.length; j++) {
+                    // get a row of the shape
+                    JSONArray row = form.getJSONArray(j);
+                    for (int k = 0; k < shape[0].length; k++) {
+                        shape[j][k] = row.getInt(k) == 1;
+                    }
+                }
+                shapes.put(type.getString("type"), new ShapeOrientations(shape));
+            }
+            return new ShapeRegistry(shapes);
+        } catch (IOException e) {
+            System.out.println("Error while reading the file, unable to load the shapes.");
+            return new ShapeRegistry(Collections.emptyMap());
+        }
+    }
+
+    /**
+     * @param type the type of the shape, like "OShape"
+     * @return the orientations of the shape, or null if there is no shape of this type
+     */
+    public ShapeOrientations getShape(String type) {
+        return shapes.get(type);
+    }
+
+    /**
+     * @return the types of the shapes of the registry
+     */
+    public Set<String> getTypes() {
+        return shapes.keySet();
+    }
+}
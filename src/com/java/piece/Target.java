@@ -2,8 +2,6 @@ package com.java.piece;
 
 import com.java.geometry.IntCoordinates;
 import com.java.piece.decorator.Decorator;
-import com.java.piece.decorator.Flip;
-import com.java.piece.decorator.Rotation;
 
 
 /**
@@ -45,23 +43,14 @@ public class Target {
      * @return the shape of the target
      */
     private boolean[][] createShape(int rotations, boolean isFlippedX, boolean isFlippedY){
-        boolean[][] shape = new boolean[piece.getShape().length][piece.getShape()[0].length];
-        for (int i = 0; i < piece.getShape().length; i++) {
-            for (int j = 0; j < piece.getShape()[0].length; j++) {
-                shape[i][j] = piece.getShape()[i][j];
-            }
-        }
-        PieceBrute pieceBrute = new ShapeFactory();
-        pieceBrute.setShape(shape);
-        Decorator rotation = new Rotation(pieceBrute, new IntCoordinates(0,0));
-        Decorator flipX = new Flip(rotation, new IntCoordinates(0,0));
-        Decorator flipY = new Flip(flipX, new IntCoordinates(0,0), false);
-
-        for (int i = 0; i < rotations; i++) rotation.personalAction();
-        if (isFlippedX) flipX.personalAction();
-        if (isFlippedY) flipY.personalAction();
-
-        return flipY.getShape();
+        PieceBrute base = piece.getPiece();
+        int orientation = base.getOrientation();
+        for (int i = 0; i < rotations; i++) orientation = ShapeOrientations.rotate(orientation, true);
+        // the flips turn with the piece, so their axes are swapped after an odd number of rotations
+        boolean xAxis = rotations % 2 == 0;
+        if (isFlippedX) orientation = ShapeOrientations.flip(orientation, xAxis);
+        if (isFlippedY) orientation = ShapeOrientations.flip(orientation, !xAxis);
+        return base.getOrientations().getShape(orientation);
     }
 
     /**
@@ -1,8 +1,11 @@
 package com.java.piece.decorator;
 
+import com.java.geometry.BitBoard;
 import com.java.geometry.IntCoordinates;
 import com.java.gui.InstanceManager;
+import com.java.logic.Arena;
 import com.java.logic.Move;
+import com.java.logic.MoveEvaluation;
 import com.java.logic.PieceLogic;
 import com.java.piece.Piece;
 import com.java.piece.PieceBrute;
@@ -42,8 +45,7 @@ public abstract class Decorator extends Piece {
             Decorator p1 = (Decorator) p;
             p1.setNextPiece(this);
         } catch (Exception e) {
-            System.out.println("The given piece is not a decorator. It is a base piece.");
-            System.out.println("Nothing else to do here.");
+            Debug.out("The given piece is not a decorator. It is a base piece. Nothing else to do here.");
         }
         this.prevPiece = p;
         this.localPos = pos;
@@ -55,19 +57,18 @@ public abstract class Decorator extends Piece {
     public boolean action(PieceLogic pieceLogic, InstanceManager instanceManager, int x, int y, IntCoordinates mousePos) {
         // If it is the right action we pressed on, then do the action.
         if (this.actionPoint.getX() == x && this.actionPoint.getY() == y) {
-            // Do the action
-            personalAction();
-            Debug.printDecorator(this);
-            if (checkCollision(pieceLogic, instanceManager)) {
-                // If the piece is colliding with the walls, then we reverse the action.
+            // Check the move before doing it, so that a collision leaves the piece untouched
+            if (!evaluate(pieceLogic, instanceManager.getArena()).isLegal()) {
                 Debug.out("Collision detected");
-                personalReverseAction();
                 instanceManager.getSoundManager().playCollisionSound();
                 return false;
             } else {
-                // If not, then we add the move to the undo manager.
+                // If not, then we do the action and add the move to the undo manager.
                 Debug.out("No collision detected");
-                instanceManager.getPlayerController().getUm().addEdit(new Move(this));
+                personalAction();
+                Debug.printDecorator(this);
+                instanceManager.getPlayerController().getUm().addEdit(new Move(this, pieceLogic));
+                pieceLogic.pieceMoved(this);
                 instanceManager.incMoves();
                 instanceManager.getSoundManager().playMoveSound();
                 return true;
@@ -88,6 +89,51 @@ public abstract class Decorator extends Piece {
      */
     public abstract void personalReverseAction();
 
+    /**
+     * Evaluates the action of the decorator without modifying the piece.
+     * @param pieceLogic the pieces of the game
+     * @param arena the arena of the game
+     * @return the legality of the action and the state of the piece after it
+     */
+    public abstract MoveEvaluation evaluate(PieceLogic pieceLogic, Arena arena);
+
+    /**
+     * Builds the evaluation of a move from the state of the piece after it.
+     * @param pieceLogic the pieces of the game
+     * @param arena the arena of the game
+     * @param orientation orientation index of the piece after the move
+     * @param offsetX offset of the piece on the X-axis after the move
+     * @param offsetY offset of the piece on the Y-axis after the move
+     * @return the evaluation of the move
+     */
+    protected MoveEvaluation evaluation(PieceLogic pieceLogic, Arena arena, int orientation, int offsetX,
+                                        int offsetY) {
+        PieceBrute piece = this.getPiece();
+        boolean[][] shape = piece.getOrientations().getShape(orientation);
+        long footprint = BitBoard.place(piece.getOrientations().getMask(orientation), shape[0].length, shape.length,
+                offsetX, offsetY);
+        // Same checks as checkCollision, on the footprint the piece would have
+        boolean legal = (footprint & ~arena.getMask()) == 0 && (footprint & pieceLogic.getOccupancy(piece)) == 0;
+        return new MoveEvaluation(this, legal, orientation, offsetX, offsetY, footprint);
+    }
+
+    /**
+     * Evaluates a rotation or a flip: the piece turns around the action point of the decorator.
+     * @param pieceLogic the pieces of the game
+     * @param arena the arena of the game
+     * @param orientation orientation index of the piece after the move
+     * @param actionPoint action point of the decorator after the move
+     * @return the evaluation of the move
+     */
+    protected MoveEvaluation evaluatePivot(PieceLogic pieceLogic, Arena arena, int orientation,
+                                           IntCoordinates actionPoint) {
+        // The action point stays on the same cell of the arena, see offsetPosition
+        IntCoordinates offset = this.getPiece().getOffset();
+        return evaluation(pieceLogic, arena, orientation,
+                offset.getX() + this.actionPoint.getX() - actionPoint.getX(),
+                offset.getY() + this.actionPoint.getY() - actionPoint.getY());
+    }
+
     /**
      * Apply rotation action to all the decorators, so they flip with the piece.
      * @param clockwise boolean that true when we rotate clockwise
@@ -101,18 +147,8 @@ public abstract class Decorator extends Piece {
      * @param clockwise boolean that true when we rotate clockwise
      */
     public void rotateActionPoint(boolean clockwise) {
-        // Get the shape of the piece
-        boolean[][] shape = this.getPiece().getShape();
-        // Variable to store if the action point of the piece has already been rotated
-        for (int i = 0; i < shape.length; i++) {
-            for (int j = 0; j < shape[0].length; j++) {
-                if (i == this.actionPoint.getY() && j == this.actionPoint.getX()) {
-                    if (clockwise) this.setActionPoint(new IntCoordinates(shape.length - i - 1, j));
-                    else this.setActionPoint(new IntCoordinates(i, shape[0].length - j - 1));
-                    return;
-                }
-            }
-        }
+        PieceBrute piece = this.getPiece();
+        this.setActionPoint(piece.getOrientations().rotatePoint(piece.getOrientation(), this.actionPoint, clockwise));
     }
 
     /**
@@ -134,14 +170,8 @@ public abstract class Decorator extends Piece {
      * @param xAxis boolean that represents the axis of the flip. True for the X-axis, false for the Y-axis.
      */
     public void flipActionPoint(boolean xAxis) {
-        boolean[][] shape = this.getPiece().getShape();
-        if (!xAxis) {
-            this.actionPoint = new IntCoordinates(shape[0].length - this.actionPoint.getX() - 1,
-                    this.actionPoint.getY());
-        } else {
-            this.actionPoint = new IntCoordinates(this.actionPoint.getX(),
-                    shape.length - this.actionPoint.getY() - 1);
-        }
+        PieceBrute piece = this.getPiece();
+        this.actionPoint = piece.getOrientations().flipPoint(piece.getOrientation(), this.actionPoint, xAxis);
     }
 
     /**
@@ -164,42 +194,19 @@ public abstract class Decorator extends Piece {
      * @return the prevPiece it decorates.
      */
     public boolean checkCollision(PieceLogic pieceLogic, InstanceManager iManager) {
-        // Get the position of the piece
-        IntCoordinates piecePos = this.getPiece().getOffset();
-        boolean[][] matrix = iManager.getArena().getMatrix();
-        // Variable to store the last piece
-        PieceBrute last;
-        for (int i = 0; i < this.getShape().length; i++) {
-            for (int j = 0; j < this.getShape()[i].length; j++) {
-                if (this.getShape()[i][j]) {
-                    // Check if the piece is colliding with the walls
-                    if (piecePos.getX() + j < 0 || piecePos.getX() + j >= matrix[0].length || piecePos.getY() + i < 0
-                            || piecePos.getY() + i >= matrix.length) {
-                        return true;
-                    }
-                    if (!matrix[piecePos.getY() + i][piecePos.getX() + j]) {
-                        return true;
-                    }
-                    // Check if the piece is colliding with another piece
-                    for (var piece : pieceLogic.getPieces()) {
-                        last = piece.getPiece();
-                        if (this.getPiece() != last) {
-                            for (int k = 0; k < last.getShape().length; k++) {
-                                for (int l = 0; l < last.getShape()[k].length; l++) {
-                                    if (last.getShape()[k][l]) {
-                                        if (piecePos.getX() + j == last.getOffset().getX() + l
-                                                && piecePos.getY() + i == last.getOffset().getY() + k) {
-                                            return true;
-                                        }
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-        }
-        return false;
+        return checkCollision(pieceLogic, iManager.getArena());
+    }
+
+    /**
+     * Checks if the piece is colliding with the walls of the arena or with another piece.
+     * @param pieceLogic the pieces of the game
+     * @param arena the arena of the game
+     * @return true if the piece is colliding
+     */
+    public boolean checkCollision(PieceLogic pieceLogic, Arena arena) {
+        long footprint = this.getPiece().getFootprint();
+        // Check if the piece is colliding with the walls, then with another piece
+        return (footprint & ~arena.getMask()) != 0 || (footprint & pieceLogic.getOccupancy(this.getPiece())) != 0;
     }
 
     /**
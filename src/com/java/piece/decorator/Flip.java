@@ -1,7 +1,12 @@
 package com.java.piece.decorator;
 
 import com.java.geometry.IntCoordinates;
+import com.java.logic.Arena;
+import com.java.logic.MoveEvaluation;
+import com.java.logic.PieceLogic;
 import com.java.piece.Piece;
+import com.java.piece.PieceBrute;
+import com.java.piece.ShapeOrientations;
 
 
 /**
@@ -41,10 +46,9 @@ public class Flip extends Decorator {
      */
     @Override
     public void personalAction() {
-        boolean[][] initShape = this.getPiece().getShape();
-        boolean[][] rotatedShape = new boolean[initShape.length][initShape[0].length];
-        this.getPiece().addFlip(this.xFlip);
-       // changing the position on the map to offset change of fixturePoint
+        PieceBrute piece = this.getPiece();
+        piece.addFlip(this.xFlip);
+        // changing the position on the map to offset change of fixturePoint
         this.offsetPosition(this.getActionPoint());
 
         // flipping the action point for all the decorators in the list
@@ -53,17 +57,16 @@ public class Flip extends Decorator {
 
         addFlip(this.xFlip);
 
-        // setting rotated shape to the rotation of the initial shape
-        for (int i = 0; i < initShape.length; i++) {
-            for (int j = 0; j < initShape[0].length; j++) {
-                if (!this.xFlip) rotatedShape[i][j] = initShape[i][initShape[0].length - j - 1];
-                else rotatedShape[i][j] = initShape[initShape.length - i - 1][j];
-            }
-        }
-        // applying change of shape to the original shape
-        this.getPiece().setShape(rotatedShape);
-        this.getPiece().setFixturePoint(this.getActionPoint());
+        // the flipped shape is precomputed, only the orientation index changes
+        piece.setOrientation(ShapeOrientations.flip(piece.getOrientation(), this.xFlip));
+        piece.setFixturePoint(this.getActionPoint());
+    }
 
+    @Override
+    public MoveEvaluation evaluate(PieceLogic pieceLogic, Arena arena) {
+        PieceBrute piece = this.getPiece();
+        return evaluatePivot(pieceLogic, arena, ShapeOrientations.flip(piece.getOrientation(), this.xFlip),
+                piece.getOrientations().flipPoint(piece.getOrientation(), this.getActionPoint(), this.xFlip));
     }
 
     /**
@@ -1,7 +1,12 @@
 package com.java.piece.decorator;
 
 import com.java.geometry.IntCoordinates;
+import com.java.logic.Arena;
+import com.java.logic.MoveEvaluation;
+import com.java.logic.PieceLogic;
 import com.java.piece.Piece;
+import com.java.piece.PieceBrute;
+import com.java.piece.ShapeOrientations;
 
 
 /**
@@ -68,30 +73,24 @@ public class Rotation extends Decorator {
      */
     @Override
     public void personalAction() {
-        boolean[][] initShape = this.getPiece().getShape();
-        boolean[][] rotatedShape = new boolean[initShape[0].length][initShape.length]; // new shape after rotation
-        this.getPiece().addRotation(this.clockwise);
+        PieceBrute piece = this.getPiece();
+        piece.addRotation(this.clockwise);
         this.offsetPosition(this.getActionPoint());
 
         // changing action point for all the decorators in the list
-        Decorator piece = this.getLast();
-        piece.applyRotation(this.clockwise);
+        Decorator last = this.getLast();
+        last.applyRotation(this.clockwise);
 
-        // rotating matrix 90 degrees clockwise
-        for (int i = 0; i < initShape.length; i++) {
-            for (int j = 0; j < initShape[0].length; j++) {
-                if (!this.clockwise) {
-                    // rotating the shape anti-clockwise
-                    rotatedShape[initShape[0].length - j - 1][i] = initShape[i][j]; // rotating the shape
-                } else {
-                    // the rotation is clockwise
-                    rotatedShape[j][initShape.length - i - 1] = initShape[i][j]; // rotating the shape
-                }
-            }
-        }
-        // applying change to piece
-        this.getPiece().setShape(rotatedShape);
-        this.getPiece().setFixturePoint(this.getActionPoint());
+        // the rotated shape is precomputed, only the orientation index changes
+        piece.setOrientation(ShapeOrientations.rotate(piece.getOrientation(), this.clockwise));
+        piece.setFixturePoint(this.getActionPoint());
+    }
+
+    @Override
+    public MoveEvaluation evaluate(PieceLogic pieceLogic, Arena arena) {
+        PieceBrute piece = this.getPiece();
+        return evaluatePivot(pieceLogic, arena, ShapeOrientations.rotate(piece.getOrientation(), this.clockwise),
+                piece.getOrientations().rotatePoint(piece.getOrientation(), this.getActionPoint(), this.clockwise));
     }
 
     /**
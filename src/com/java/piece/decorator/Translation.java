@@ -2,7 +2,9 @@ package com.java.piece.decorator;
 
 import com.java.config.GuiConfig;
 import com.java.gui.InstanceManager;
+import com.java.logic.Arena;
 import com.java.logic.Move;
+import com.java.logic.MoveEvaluation;
 import com.java.logic.PieceLogic;
 import com.java.piece.Piece;
 import com.java.geometry.IntCoordinates;
@@ -48,16 +50,16 @@ public class Translation extends Decorator {
                 case WEST -> 3;
             };
             if (directions[temp]) {
-                personalAction();
-                Debug.printDecorator(this);
-                if (checkCollision(pieceLogic, instanceManager)) {
+                if (!evaluate(pieceLogic, instanceManager.getArena()).isLegal()) {
                     Debug.out("Collision detected");
-                    personalReverseAction();
                     instanceManager.getSoundManager().playCollisionSound();
                     return false;
                 } else {
                     Debug.out("No collision detected");
-                    instanceManager.getPlayerController().getUm().addEdit(new Move(this));
+                    personalAction();
+                    Debug.printDecorator(this);
+                    instanceManager.getPlayerController().getUm().addEdit(new Move(this, pieceLogic));
+                    pieceLogic.pieceMoved(this);
                     instanceManager.incMoves();
                     instanceManager.getSoundManager().playMoveSound();
                     return true;
@@ -86,6 +88,20 @@ public class Translation extends Decorator {
         }
     }
 
+    @Override
+    public MoveEvaluation evaluate(PieceLogic pieceLogic, Arena arena) {
+        IntCoordinates offset = this.getPiece().getOffset();
+        int x = offset.getX();
+        int y = offset.getY();
+        switch (dir) {
+            case NORTH -> y--;
+            case EAST -> x++;
+            case SOUTH -> y++;
+            case WEST -> x--;
+        }
+        return evaluation(pieceLogic, arena, this.getPiece().getOrientation(), x, y);
+    }
+
     /**
      * Reverse the translation action of the piece.
      */
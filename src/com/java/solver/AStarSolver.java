@@ -0,0 +1,178 @@
+package com.java.solver;
+
+import java.util.Arrays;
+
+
+/**
+ * A* search over the states of a level, guided by the Heuristic of its targets.
+ * The heuristic is consistent, so a state is final the first time it is expanded
+ * and the first goal expanded is at the minimal number of moves.
+ * The open list is a binary heap of longs, each entry packs the estimated cost, the cost and the node index.
+ * The packing limits the costs: the search throws an IllegalStateException rather than losing the order of the heap.
+ */
+public class AStarSolver {
+    /**
+     * Highest number of moves from the start that fits in an entry of the heap.
+     */
+    private static final int MAX_COST = 0xFFFF;
+    /**
+     * Highest estimated cost that fits in an entry of the heap without setting its sign bit.
+     */
+    private static final int MAX_TOTAL = 0x7FFF;
+
+    /**
+     * Model of the level to solve.
+     */
+    private final LevelModel model;
+
+    /**
+     * State of each node.
+     */
+    private long[] states = new long[1024];
+    /**
+     * Index of the parent of each node, -1 for the start.
+     */
+    private int[] parents = new int[1024];
+    /**
+     * Number of moves from the start to each node.
+     */
+    private int[] costs = new int[1024];
+    /**
+     * Number of nodes created.
+     */
+    private int nodes = 0;
+    /**
+     * Open list as a binary min-heap.
+     */
+    private long[] heap = new long[1024];
+    /**
+     * Number of entries in the heap.
+     */
+    private int heapSize = 0;
+
+    /**
+     * Constructor of the AStarSolver.
+     * @param model the model of the level to solve
+     */
+    public AStarSolver(LevelModel model) {
+        this.model = model;
+    }
+
+    /**
+     * Searches the shortest sequence of moves that solves the level.
+     * @return the solution, with no path if the level cannot be solved
+     */
+    public Solution solve() {
+        long start = System.nanoTime();
+        Heuristic heuristic = new Heuristic(model);
+        // Best node found for each state, a node that is not the best any more is skipped when it is popped
+        LongIntMap best = new LongIntMap(1024);
+        long[] successors = new long[model.getMaxSuccessors()];
+        long expanded = 0;
+
+        int estimate = heuristic.estimate(model.getInitialState());
+        if (estimate != Heuristic.UNREACHABLE) {
+            best.put(model.getInitialState(), addNode(model.getInitialState(), -1, 0, estimate));
+        }
+
+        while (heapSize > 0) {
+            int node = (int) pop();
+            long state = states[node];
+            if (best.get(state) != node) continue;
+            expanded++;
+            if (model.isGoal(state)) {
+                return new Solution(path(node), expanded, best.size(), System.nanoTime() - start,
+                        memory(best, heuristic));
+            }
+            int count = model.successors(state, successors);
+            for (int k = 0; k < count; k++) {
+                int known = best.get(successors[k]);
+                if (known != LongIntMap.MISSING && costs[known] <= costs[node] + 1) continue;
+                estimate = heuristic.estimate(successors[k]);
+                if (estimate == Heuristic.UNREACHABLE) continue;
+                best.put(successors[k], addNode(successors[k], node, costs[node] + 1, estimate));
+            }
+        }
+        return new Solution(null, expanded, best.size(), System.nanoTime() - start, memory(best, heuristic));
+    }
+
+    /**
+     * Creates a node and pushes it in the open list.
+     * @param state the state of the node
+     * @param parent the index of the parent node
+     * @param cost the number of moves from the start
+     * @param estimate the estimate of the number of moves left
+     * @return the index of the node
+     * @throws IllegalStateException if the cost or the estimated cost does not fit in an entry of the heap
+     */
+    private int addNode(long state, int parent, int cost, int estimate) {
+        if (nodes == states.length) {
+            states = Arrays.copyOf(states, nodes * 2);
+            parents = Arrays.copyOf(parents, nodes * 2);
+            costs = Arrays.copyOf(costs, nodes * 2);
+        }
+        states[nodes] = state;
+        parents[nodes] = parent;
+        costs[nodes] = cost;
+        if (cost > MAX_COST || cost + estimate > MAX_TOTAL) {
+            throw new IllegalStateException("The level is too deep for A*: " + cost + " moves with an estimate of "
+                    + estimate + ", at most " + MAX_TOTAL + " in total.");
+        }
+        // Lowest total first, then the deepest node, so that ties are broken towards the goal
+        push((long) (cost + estimate) << 48 | (long) (0xFFFF - cost) << 32 | nodes);
+        return nodes++;
+    }
+
+    /**
+     * Pushes an entry in the heap.
+     * @param entry the packed entry
+     */
+    private void push(long entry) {
+        if (heapSize == heap.length) heap = Arrays.copyOf(heap, heapSize * 2);
+        int i = heapSize++;
+        while (i > 0 && heap[(i - 1) / 2] > entry) {
+            heap[i] = heap[(i - 1) / 2];
+            i = (i - 1) / 2;
+        }
+        heap[i] = entry;
+    }
+
+    /**
+     * Removes the smallest entry of the heap.
+     * @return the node index of the entry
+     */
+    private long pop() {
+        long top = heap[0];
+        long last = heap[--heapSize];
+        int i = 0;
+        while (2 * i + 1 < heapSize) {
+            int child = 2 * i + 1;
+            if (child + 1 < heapSize && heap[child + 1] < heap[child]) child++;
+            if (heap[child] >= last) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return top & 0xFFFFFFFFL;
+    }
+
+    /**
+     * Rebuilds the path from the start to a node.
+     * @param last index of the last node of the path
+     * @return the states from the start to the last node
+     */
+    private long[] path(int last) {
+        long[] path = new long[costs[last] + 1];
+        for (int i = last; i != -1; i = parents[i]) path[costs[i]] = states[i];
+        return path;
+    }
+
+    /**
+     * @param best map of the best node of each state
+     * @param heuristic the heuristic of the level
+     * @return the memory used by the nodes, the heap, the map and the heuristic in bytes
+     */
+    private long memory(LongIntMap best, Heuristic heuristic) {
+        return states.length * 16L + heap.length * 8L + best.getMemoryBytes() + heuristic.getMemoryBytes();
+    }
+}
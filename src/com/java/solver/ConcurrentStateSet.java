@@ -0,0 +1,127 @@
+package com.java.solver;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+
+/**
+ * Lock-free set of packed states using open addressing, shared by the threads of the ParallelSolver.
+ * A state is claimed with a compare-and-set on its slot, so two threads adding the same state
+ * never both succeed. The table does not grow by itself: it is kept at most half full, and it must be grown
+ * with grow() between two batches of the search, while no other thread uses it.
+ * The parent of each state is stored next to it, to rebuild the path once the search is over.
+ */
+public class ConcurrentStateSet {
+    /**
+     * Slots of the table, the length is always a power of two.
+     */
+    private AtomicLongArray slots;
+    /**
+     * Parent of the state of each slot, written by the thread that claimed the slot.
+     */
+    private long[] parents;
+    /**
+     * Number of states in the set, only updated by resize() and count().
+     */
+    private int size = 0;
+
+    /**
+     * Creates a set able to hold the given number of states.
+     * @param expected number of states expected in the set
+     */
+    public ConcurrentStateSet(int expected) {
+        allocate(expected);
+    }
+
+    /**
+     * Allocates empty tables big enough for the given number of states.
+     * @param expected number of states expected in the set
+     */
+    private void allocate(int expected) {
+        int capacity = 16;
+        while (capacity < expected * 2L) capacity <<= 1;
+        slots = new AtomicLongArray(capacity);
+        parents = new long[capacity];
+        for (int i = 0; i < capacity; i++) slots.set(i, LongStateSet.EMPTY);
+    }
+
+    /**
+     * Adds a state to the set, it can be called by several threads at the same time.
+     * @param state the packed state to add
+     * @param parent the state it was reached from
+     * @return true if the state was not already in the set
+     */
+    public boolean add(long state, long parent) {
+        int mask = slots.length() - 1;
+        int i = (int) LongStateSet.mix(state) & mask;
+        while (true) {
+            long current = slots.get(i);
+            if (current == LongStateSet.EMPTY) {
+                if (slots.compareAndSet(i, LongStateSet.EMPTY, state)) {
+                    parents[i] = parent;
+                    return true;
+                }
+                // Another thread claimed the slot first, it may have put the same state
+                current = slots.get(i);
+            }
+            if (current == state) return false;
+            i = (i + 1) & mask;
+        }
+    }
+
+    /**
+     * @param state a packed state in the set
+     * @return the state it was reached from, or EMPTY if the state is not in the set
+     */
+    public long getParent(long state) {
+        int mask = slots.length() - 1;
+        int i = (int) LongStateSet.mix(state) & mask;
+        while (slots.get(i) != LongStateSet.EMPTY) {
+            if (slots.get(i) == state) return parents[i];
+            i = (i + 1) & mask;
+        }
+        return LongStateSet.EMPTY;
+    }
+
+    /**
+     * Records the number of states added since the last call.
+     * It must be called between two batches, while no other thread uses the set.
+     * @param added number of states added by the layer
+     */
+    public void count(int added) {
+        size += added;
+    }
+
+    /**
+     * @return the number of states that can still be added before the table is half full
+     */
+    public long getFreeSlots() {
+        return Math.max(0, slots.length() / 2 - (long) size);
+    }
+
+    /**
+     * Doubles the capacity of the table.
+     * It must be called between two batches, while no other thread uses the set.
+     */
+    public void grow() {
+        AtomicLongArray oldSlots = slots;
+        long[] oldParents = parents;
+        allocate(oldSlots.length());
+        for (int i = 0; i < oldSlots.length(); i++) {
+            if (oldSlots.get(i) != LongStateSet.EMPTY) add(oldSlots.get(i), oldParents[i]);
+        }
+    }
+
+    /**
+     * @return the memory used by the table in bytes
+     */
+    public long getMemoryBytes() {
+        return slots.length() * 16L;
+    }
+
+    /**
+     * @return the number of states in the set, as recorded by count()
+     */
+    public int size() {
+        return size;
+    }
+}
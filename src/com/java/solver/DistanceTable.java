@@ -0,0 +1,234 @@
+package com.java.solver;
+
+import com.java.config.GuiConfig;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+
+/**
+ * Exact number of moves to win from every state reachable in a level, stored in a memory-mapped file.
+ * The table is built once by a retrograde analysis: the reachable states are found by a forward search,
+ * then a backward breadth first search starts from every winning state and follows the moves in reverse.
+ * The moves are not always invertible by another move (a translation may only go north), so the
+ * predecessors of a state are taken from the reversed edges of the forward search, not from reverse actions.
+ * The file is an open addressing table: a header, the states (stored as state + 1, 0 is an empty slot),
+ * then the distance of each slot on one byte. A lookup is a hash and a few reads in the mapped file.
+ */
+public class DistanceTable {
+    /**
+     * First bytes of a distance table file.
+     */
+    private static final int MAGIC = 0x50444954;
+    /**
+     * Version of the file format.
+     */
+    private static final int VERSION = 1;
+    /**
+     * Size of the header: magic, version, level, padding, initial state and number of slots.
+     */
+    private static final int HEADER_BYTES = 32;
+    /**
+     * Distance stored for a reachable state from which the level cannot be won.
+     */
+    private static final int NO_WIN = 0xFF;
+    /**
+     * Value returned for a state that cannot be won or that is not in the table.
+     */
+    public static final int UNKNOWN = -1;
+
+    /**
+     * The mapped file.
+     */
+    private final MappedByteBuffer buffer;
+    /**
+     * Number of slots of the table, a power of two.
+     */
+    private final int capacity;
+    /**
+     * Level of the table.
+     */
+    private final int level;
+    /**
+     * State at the start of the level when the table was built.
+     */
+    private final long initialState;
+
+    /**
+     * Maps a distance table file.
+     * @param buffer the mapped file
+     */
+    private DistanceTable(MappedByteBuffer buffer) {
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("The file is not a distance table.");
+        }
+        this.buffer = buffer;
+        this.level = buffer.getInt(8);
+        this.initialState = buffer.getLong(16);
+        this.capacity = (int) buffer.getLong(24);
+    }
+
+    /**
+     * @param level id of the level
+     * @return the path of the distance table of the level in the resources
+     */
+    public static Path pathOf(int level) {
+        return Path.of(GuiConfig.resPath, "distances", "level" + level + ".bin");
+    }
+
+    /**
+     * Opens the distance table of a level from the resources.
+     * @param level id of the level
+     * @return the table, or null if it has not been built
+     */
+    public static DistanceTable open(int level) {
+        Path path = pathOf(level);
+        if (!Files.exists(path)) return null;
+        return open(path);
+    }
+
+    /**
+     * Maps a distance table file.
+     * @param path the file
+     * @return the table
+     * @throws UncheckedIOException if the file cannot be read
+     */
+    public static DistanceTable open(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new DistanceTable(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param state a packed state of the LevelModel of the level
+     * @return the minimal number of moves to win from the state, or UNKNOWN
+     */
+    public int getDistance(long state) {
+        int mask = capacity - 1;
+        int i = (int) LongStateSet.mix(state) & mask;
+        long stored;
+        while ((stored = buffer.getLong(HEADER_BYTES + i * 8)) != 0) {
+            if (stored == state + 1) {
+                int distance = buffer.get(HEADER_BYTES + capacity * 8 + i) & 0xFF;
+                return distance == NO_WIN ? UNKNOWN : distance;
+            }
+            i = (i + 1) & mask;
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * @return the level of the table
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * @return the state at the start of the level when the table was built,
+     * a different state means the level has changed since
+     */
+    public long getInitialState() {
+        return initialState;
+    }
+
+    /**
+     * Computes the distance table of a level and writes it in a file.
+     * @param level id of the level
+     * @param model the model of the level
+     * @param path the file to write
+     * @return the number of states in the table
+     * @throws IOException if the file cannot be written
+     */
+    public static int build(int level, LevelModel model, Path path) throws IOException {
+        // Forward search, every reachable state gets an index
+        LongIntMap indexes = new LongIntMap(1024);
+        long[] states = new long[1024];
+        int count = 0;
+        long[] successors = new long[model.getMaxSuccessors()];
+        states[count] = model.getInitialState();
+        indexes.put(states[count], count++);
+        int edges = 0;
+        for (int i = 0; i < count; i++) {
+            int n = model.successors(states[i], successors);
+            edges += n;
+            for (int k = 0; k < n; k++) {
+                if (indexes.get(successors[k]) != LongIntMap.MISSING) continue;
+                if (count == states.length) states = Arrays.copyOf(states, count * 2);
+                states[count] = successors[k];
+                indexes.put(successors[k], count++);
+            }
+        }
+
+        // Reversed edges, the predecessors of the state j are predecessors[starts[j]..starts[j + 1]]
+        int[] starts = new int[count + 1];
+        for (int i = 0; i < count; i++) {
+            int n = model.successors(states[i], successors);
+            for (int k = 0; k < n; k++) starts[indexes.get(successors[k]) + 1]++;
+        }
+        for (int j = 0; j < count; j++) starts[j + 1] += starts[j];
+        int[] predecessors = new int[edges];
+        int[] filled = Arrays.copyOf(starts, count);
+        for (int i = 0; i < count; i++) {
+            int n = model.successors(states[i], successors);
+            for (int k = 0; k < n; k++) predecessors[filled[indexes.get(successors[k])]++] = i;
+        }
+
+        // Backward search from every winning state
+        int[] distances = new int[count];
+        Arrays.fill(distances, NO_WIN);
+        int[] queue = new int[count];
+        int tail = 0;
+        for (int i = 0; i < count; i++) {
+            if (model.isGoal(states[i])) {
+                distances[i] = 0;
+                queue[tail++] = i;
+            }
+        }
+        for (int head = 0; head < tail; head++) {
+            int j = queue[head];
+            if (distances[j] + 1 >= NO_WIN) throw new IllegalStateException("A distance does not fit in a byte.");
+            for (int p = starts[j]; p < starts[j + 1]; p++) {
+                int i = predecessors[p];
+                if (distances[i] != NO_WIN) continue;
+                distances[i] = distances[j] + 1;
+                queue[tail++] = i;
+            }
+        }
+
+        // Open addressing table, written slot by slot
+        int capacity = 16;
+        while (capacity < count * 2) capacity <<= 1;
+        long[] keys = new long[capacity];
+        byte[] values = new byte[capacity];
+        for (int i = 0; i < count; i++) {
+            int slot = (int) LongStateSet.mix(states[i]) & (capacity - 1);
+            while (keys[slot] != 0) slot = (slot + 1) & (capacity - 1);
+            keys[slot] = states[i] + 1;
+            values[slot] = (byte) distances[i];
+        }
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(level);
+            out.writeInt(0);
+            out.writeLong(model.getInitialState());
+            out.writeLong(capacity);
+            for (long key : keys) out.writeLong(key);
+            out.write(values);
+        }
+        return count;
+    }
+}
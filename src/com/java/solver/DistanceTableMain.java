@@ -0,0 +1,36 @@
+package com.java.solver;
+
+import com.java.config.LogicConstants;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Command line entry point building the distance tables of the levels in the resources.
+ * Usage: DistanceTableMain [level id...], the table of every level is built when no id is given.
+ */
+public class DistanceTableMain {
+    /**
+     * @param args arguments passed in the terminal
+     * @throws IOException if a table cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        List<Integer> levels = new ArrayList<>();
+        for (String arg : args) levels.add(Integer.parseInt(arg));
+        if (levels.isEmpty()) {
+            for (int i = 0; i < LogicConstants.NUMBER_OF_LEVELS; i++) levels.add(i);
+        }
+        for (int level : levels) {
+            long start = System.nanoTime();
+            LevelModel model = LevelModel.load(level);
+            Path path = DistanceTable.pathOf(level);
+            int states = DistanceTable.build(level, model, path);
+            int distance = DistanceTable.open(path).getDistance(model.getInitialState());
+            System.out.printf("Level %d: %d states, %d moves from the start, %s in %.2f ms%n", level, states,
+                    distance, path, (System.nanoTime() - start) / 1e6);
+        }
+    }
+}
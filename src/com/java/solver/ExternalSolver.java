@@ -0,0 +1,423 @@
+package com.java.solver;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+
+/**
+ * Breadth first search keeping its layers on disk, for levels with more states than the memory can hold.
+ * Each layer is a file of sorted distinct states. The successors of a layer are collected in a buffer of
+ * runStates states, sorted and written as run files, then the runs are merged and the states of the previous
+ * layers are removed during the merge (delayed duplicate detection). When every move can be undone by a move,
+ * a successor can only be in the two previous layers, otherwise every previous layer is checked.
+ * The layers are kept until the end of the search to rebuild the path, then every file is deleted.
+ */
+public class ExternalSolver {
+    /**
+     * Size of the buffer of each file stream.
+     */
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    /**
+     * Model of the level to solve.
+     */
+    private final LevelModel model;
+    /**
+     * Directory where the files of the search are created.
+     */
+    private final Path directory;
+    /**
+     * Number of states sorted in memory before a run is written.
+     */
+    private final int runStates;
+    /**
+     * Stream where the statistics of each layer are printed, null to print nothing.
+     */
+    private final PrintStream log;
+    /**
+     * Bytes read from the disk during the current layer.
+     */
+    private long bytesRead;
+    /**
+     * Bytes written to the disk during the current layer.
+     */
+    private long bytesWritten;
+
+    /**
+     * Constructor of the ExternalSolver.
+     * @param model the model of the level to solve
+     * @param directory the directory where the files of the search are created
+     * @param runStates the number of states sorted in memory before a run is written
+     * @param log the stream where the statistics of each layer are printed, null to print nothing
+     */
+    public ExternalSolver(LevelModel model, Path directory, int runStates, PrintStream log) {
+        this.model = model;
+        this.directory = directory;
+        this.runStates = runStates;
+        this.log = log;
+    }
+
+    /**
+     * Searches the shortest sequence of moves that solves the level.
+     * @return the solution, with no path if the level cannot be solved
+     * @throws UncheckedIOException if the files of the search cannot be read or written
+     */
+    public Solution solve() {
+        long start = System.nanoTime();
+        Path work = null;
+        try {
+            work = Files.createTempDirectory(directory, "bfs");
+            return search(work, start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (work != null) delete(work);
+        }
+    }
+
+    /**
+     * Runs the search in a working directory.
+     * @param work the directory of the files of the search
+     * @param start the start time of the search
+     * @return the solution
+     * @throws IOException if a file cannot be read or written
+     */
+    private Solution search(Path work, long start) throws IOException {
+        boolean reversible = model.isReversible();
+        long[] buffer = new long[runStates];
+        long[] successors = new long[model.getMaxSuccessors()];
+        // The run buffer and the streams opened by a merge of the runs and the previous layers
+        long memory = runStates * 8L;
+        long expanded = 0;
+        long visited = 1;
+
+        List<Path> layers = new ArrayList<>();
+        layers.add(work.resolve("layer0"));
+        try (LongWriter out = new LongWriter(layers.get(0))) {
+            out.write(model.getInitialState());
+        }
+        if (model.isGoal(model.getInitialState())) {
+            return new Solution(new long[]{model.getInitialState()}, 0, 1, System.nanoTime() - start, memory);
+        }
+
+        for (int depth = 0; ; depth++) {
+            long layerStart = System.nanoTime();
+            bytesRead = 0;
+            bytesWritten = 0;
+
+            // Expansion of the layer into sorted runs
+            List<Path> runs = new ArrayList<>();
+            int n = 0;
+            try (LongReader in = new LongReader(layers.get(depth))) {
+                while (in.hasNext()) {
+                    int count = model.successors(in.next(), successors);
+                    expanded++;
+                    for (int k = 0; k < count; k++) {
+                        buffer[n++] = successors[k];
+                        if (n == buffer.length) {
+                            runs.add(writeRun(work, depth, runs.size(), buffer, n));
+                            n = 0;
+                        }
+                    }
+                }
+            }
+            if (n > 0) runs.add(writeRun(work, depth, runs.size(), buffer, n));
+
+            // Merge of the runs without the states of the previous layers
+            List<Path> previous = reversible ? layers.subList(Math.max(0, depth - 1), depth + 1) : layers;
+            Path next = work.resolve("layer" + (depth + 1));
+            long size = 0;
+            long goal = LongStateSet.EMPTY;
+            try (Merge fresh = new Merge(runs); Merge old = new Merge(previous);
+                 LongWriter out = new LongWriter(next)) {
+                memory = Math.max(memory, runStates * 8L + (runs.size() + previous.size() + 1L) * BUFFER_BYTES);
+                while (fresh.hasNext()) {
+                    long state = fresh.next();
+                    while (old.hasNext() && old.peek() < state) old.next();
+                    if (old.hasNext() && old.peek() == state) continue;
+                    out.write(state);
+                    size++;
+                    if (goal == LongStateSet.EMPTY && model.isGoal(state)) goal = state;
+                }
+            }
+            for (Path run : runs) Files.delete(run);
+            layers.add(next);
+            visited += size;
+
+            if (log != null) {
+                double seconds = (System.nanoTime() - layerStart) / 1e9;
+                log.printf("    layer %d: %d states, %d runs, %.1f MB read, %.1f MB written, %.1f MB/s%n",
+                        depth + 1, size, runs.size(), bytesRead / 1e6, bytesWritten / 1e6,
+                        (bytesRead + bytesWritten) / 1e6 / seconds);
+            }
+            if (goal != LongStateSet.EMPTY) {
+                return new Solution(path(layers, goal), expanded, visited, System.nanoTime() - start, memory);
+            }
+            if (size == 0) return new Solution(null, expanded, visited, System.nanoTime() - start, memory);
+        }
+    }
+
+    /**
+     * Sorts the states of the buffer and writes them without duplicates in a run file.
+     * @param work the directory of the files of the search
+     * @param depth the depth of the layer being expanded
+     * @param index the index of the run in the layer
+     * @param buffer the states
+     * @param n the number of states in the buffer
+     * @return the path of the run file
+     * @throws IOException if the file cannot be written
+     */
+    private Path writeRun(Path work, int depth, int index, long[] buffer, int n) throws IOException {
+        Arrays.sort(buffer, 0, n);
+        Path run = work.resolve("run" + depth + "-" + index);
+        try (LongWriter out = new LongWriter(run)) {
+            for (int i = 0; i < n; i++) {
+                if (i == 0 || buffer[i] != buffer[i - 1]) out.write(buffer[i]);
+            }
+        }
+        return run;
+    }
+
+    /**
+     * Rebuilds the path to a goal: the parent of a state is searched in the layer before it.
+     * @param layers the files of the layers, the goal is in the last one
+     * @param goal the goal state
+     * @return the states from the start to the goal
+     * @throws IOException if a layer cannot be read
+     */
+    private long[] path(List<Path> layers, long goal) throws IOException {
+        long[] path = new long[layers.size()];
+        long[] successors = new long[model.getMaxSuccessors()];
+        path[layers.size() - 1] = goal;
+        for (int depth = layers.size() - 2; depth >= 0; depth--) {
+            try (LongReader in = new LongReader(layers.get(depth))) {
+                search:
+                while (in.hasNext()) {
+                    long state = in.next();
+                    int count = model.successors(state, successors);
+                    for (int k = 0; k < count; k++) {
+                        if (successors[k] == path[depth + 1]) {
+                            path[depth] = state;
+                            break search;
+                        }
+                    }
+                }
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Deletes a directory and its files, errors are only printed since the search is already over.
+     * @param work the directory to delete
+     */
+    private static void delete(Path work) {
+        try (Stream<Path> files = Files.list(work)) {
+            for (Path file : (Iterable<Path>) files::iterator) Files.delete(file);
+            Files.delete(work);
+        } catch (IOException e) {
+            System.out.println("Could not delete the files of the search in " + work + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Sequential reader of a file of states.
+     */
+    private class LongReader implements Closeable {
+        /**
+         * Stream of the file.
+         */
+        private final DataInputStream in;
+        /**
+         * Number of states left in the file.
+         */
+        private long remaining;
+
+        /**
+         * Opens a file of states.
+         * @param file the file to read
+         * @throws IOException if the file cannot be opened
+         */
+        LongReader(Path file) throws IOException {
+            this.remaining = Files.size(file) / 8;
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_BYTES));
+        }
+
+        /**
+         * @return true if there are states left
+         */
+        boolean hasNext() {
+            return remaining > 0;
+        }
+
+        /**
+         * @return the next state of the file
+         * @throws IOException if the file cannot be read
+         */
+        long next() throws IOException {
+            remaining--;
+            bytesRead += 8;
+            return in.readLong();
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /**
+     * Sequential writer of a file of states.
+     */
+    private class LongWriter implements Closeable {
+        /**
+         * Stream of the file.
+         */
+        private final DataOutputStream out;
+
+        /**
+         * Creates a file of states.
+         * @param file the file to write
+         * @throws IOException if the file cannot be created
+         */
+        LongWriter(Path file) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_BYTES));
+        }
+
+        /**
+         * @param state the state to append to the file
+         * @throws IOException if the file cannot be written
+         */
+        void write(long state) throws IOException {
+            bytesWritten += 8;
+            out.writeLong(state);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    /**
+     * Merge of several files of sorted states into a single sorted stream without duplicates.
+     */
+    private class Merge implements Closeable {
+        /**
+         * Readers of the files, ordered by their next state.
+         */
+        private final PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparingLong(h -> h.value));
+        /**
+         * Every reader opened by the merge.
+         */
+        private final List<LongReader> readers = new ArrayList<>();
+        /**
+         * Last state returned, to skip its duplicates.
+         */
+        private long last = LongStateSet.EMPTY;
+
+        /**
+         * Opens the files to merge.
+         * @param files the files of sorted states
+         * @throws IOException if a file cannot be read
+         */
+        Merge(List<Path> files) throws IOException {
+            for (Path file : files) {
+                LongReader reader = new LongReader(file);
+                readers.add(reader);
+                if (reader.hasNext()) heads.add(new Head(reader, reader.next()));
+            }
+            skipDuplicates();
+        }
+
+        /**
+         * @return true if there are states left
+         */
+        boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        /**
+         * @return the next state, without removing it
+         */
+        long peek() {
+            return heads.peek().value;
+        }
+
+        /**
+         * @return the next state
+         * @throws IOException if a file cannot be read
+         */
+        long next() throws IOException {
+            last = advance();
+            skipDuplicates();
+            return last;
+        }
+
+        /**
+         * Removes the smallest state and reads the next state of its file.
+         * @return the smallest state
+         * @throws IOException if a file cannot be read
+         */
+        private long advance() throws IOException {
+            Head head = heads.poll();
+            long value = head.value;
+            if (head.reader.hasNext()) {
+                head.value = head.reader.next();
+                heads.add(head);
+            }
+            return value;
+        }
+
+        /**
+         * Removes the states equal to the last state returned.
+         * @throws IOException if a file cannot be read
+         */
+        private void skipDuplicates() throws IOException {
+            while (!heads.isEmpty() && heads.peek().value == last) advance();
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (LongReader reader : readers) reader.close();
+        }
+    }
+
+    /**
+     * Next state of a file in a merge.
+     */
+    private static class Head {
+        /**
+         * Reader of the file.
+         */
+        private final LongReader reader;
+        /**
+         * Next state of the file.
+         */
+        private long value;
+
+        /**
+         * Constructor of the Head.
+         * @param reader the reader of the file
+         * @param value the next state of the file
+         */
+        Head(LongReader reader, long value) {
+            this.reader = reader;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.java.solver;
+
+import com.java.geometry.BitBoard;
+
+import java.util.Arrays;
+
+
+/**
+ * Lower bound of the number of moves left to solve a level, built from its targets.
+ * For each piece with a target, the distance from every (orientation, offset) to the target is computed once
+ * in a relaxed level where the other pieces do not exist, only the walls and the holes of the arena stay.
+ * The estimate of a state is the sum of these distances: a move only changes one piece, so it never overestimates,
+ * and a move changes the estimate by at most one, so the heuristic is also consistent.
+ * A plain Manhattan distance would not be admissible here, because a rotation moves the offset of a piece
+ * by more than one cell when its action point is not the top left cell.
+ */
+public class Heuristic {
+    /**
+     * Estimate of a state from which a target cannot be reached.
+     */
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    /**
+     * Model of the level.
+     */
+    private final LevelModel model;
+    /**
+     * Distance to the target of each piece, indexed by (orientation * SIZE + y) * SIZE + x.
+     * The table of a piece without target is null.
+     */
+    private final int[][] distances;
+
+    /**
+     * Computes the distance tables of the pieces of a level.
+     * @param model the model of the level
+     */
+    public Heuristic(LevelModel model) {
+        this.model = model;
+        this.distances = new int[model.getPieceCount()][];
+        for (int t = 0; t < model.getTargetCount(); t++) {
+            int p = model.getTargetPiece(t);
+            int[] table = distances(t);
+            if (distances[p] == null) {
+                distances[p] = table;
+            } else {
+                // A piece with two targets must reach the farthest one
+                for (int i = 0; i < table.length; i++) distances[p][i] = Math.max(distances[p][i], table[i]);
+            }
+        }
+    }
+
+    /**
+     * Computes the distance to a target from every placement of its piece, going backward from the target.
+     * @param target index of the target
+     * @return the distance of each placement, UNREACHABLE if the target cannot be reached from it
+     */
+    private int[] distances(int target) {
+        PieceModel piece = model.getPiece(model.getTargetPiece(target));
+        int[] table = new int[piece.getOrientationCount() * BitBoard.SIZE * BitBoard.SIZE];
+        Arrays.fill(table, UNREACHABLE);
+        for (int o = 0; o < piece.getOrientationCount(); o++) {
+            int x = model.getTargetX(target);
+            int y = model.getTargetY(target);
+            if ((model.getTargetOrientations(target) & (1 << o)) != 0 && fits(piece, o, x, y)) {
+                table[index(o, x, y)] = 0;
+            }
+        }
+        // Each pass gives their distance to the placements one move away from the last layer
+        boolean changed = true;
+        for (int distance = 0; changed; distance++) {
+            changed = false;
+            for (int o = 0; o < piece.getOrientationCount(); o++) {
+                int[] targets = piece.getTransitionTargets(o);
+                int[] dx = piece.getTransitionDx(o);
+                int[] dy = piece.getTransitionDy(o);
+                for (int y = 0; y < BitBoard.SIZE; y++) {
+                    for (int x = 0; x < BitBoard.SIZE; x++) {
+                        if (table[index(o, x, y)] != UNREACHABLE || !fits(piece, o, x, y)) continue;
+                        for (int k = 0; k < targets.length; k++) {
+                            int nx = x + dx[k];
+                            int ny = y + dy[k];
+                            if (fits(piece, targets[k], nx, ny) && table[index(targets[k], nx, ny)] == distance) {
+                                table[index(o, x, y)] = distance + 1;
+                                changed = true;
+                                break;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * @param piece model of the piece
+     * @param orientation orientation of the piece
+     * @param x offset on the X-axis
+     * @param y offset on the Y-axis
+     * @return true if the piece is inside the arena and only on playable cells
+     */
+    private boolean fits(PieceModel piece, int orientation, int x, int y) {
+        if (x < 0 || y < 0 || x + piece.getWidth(orientation) > model.getWidth()
+                || y + piece.getHeight(orientation) > model.getHeight()) {
+            return false;
+        }
+        long placed = piece.getFootprint(orientation) << (y * BitBoard.STRIDE + x);
+        return (placed & ~model.getArenaMask()) == 0;
+    }
+
+    /**
+     * @param orientation orientation of the piece
+     * @param x offset on the X-axis
+     * @param y offset on the Y-axis
+     * @return the index of the placement in a distance table
+     */
+    private static int index(int orientation, int x, int y) {
+        return (orientation * BitBoard.SIZE + y) * BitBoard.SIZE + x;
+    }
+
+    /**
+     * @param state a packed state
+     * @return a lower bound of the number of moves to solve the level, or UNREACHABLE
+     */
+    public int estimate(long state) {
+        int sum = 0;
+        for (int p = 0; p < distances.length; p++) {
+            if (distances[p] == null) continue;
+            int distance = distances[p][index(LevelModel.getOrientation(state, p), LevelModel.getX(state, p),
+                    LevelModel.getY(state, p))];
+            if (distance == UNREACHABLE) return UNREACHABLE;
+            sum += distance;
+        }
+        return sum;
+    }
+
+    /**
+     * @return the memory used by the distance tables in bytes
+     */
+    public long getMemoryBytes() {
+        long bytes = 0;
+        for (int[] table : distances) {
+            if (table != null) bytes += table.length * 4L;
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,162 @@
+package com.java.solver;
+
+import java.util.Arrays;
+
+
+/**
+ * Iterative deepening A* over the states of a level, the low memory alternative to the AStarSolver.
+ * Depth first searches are run with a growing bound on the estimated total cost,
+ * so only the current path and a fixed size transposition table are kept in memory.
+ * The table remembers the smallest depth at which a state was reached during the current iteration:
+ * reaching it again at the same depth or deeper cannot lead to a shorter solution, so the state is skipped.
+ * Without it, the many orders in which independent moves can be played make level 7 take minutes.
+ */
+public class IdaStarSolver {
+    /**
+     * Value returned by a search that reached a goal.
+     */
+    private static final int FOUND = -1;
+    /**
+     * Number of bits of the index of the transposition table, it holds 2^TABLE_BITS states.
+     */
+    private static final int TABLE_BITS = 16;
+
+    /**
+     * Model of the level to solve.
+     */
+    private final LevelModel model;
+    /**
+     * Heuristic of the level, created by solve().
+     */
+    private Heuristic heuristic;
+    /**
+     * States of the current path.
+     */
+    private long[] path = new long[64];
+    /**
+     * Successors buffer of each depth of the current path.
+     */
+    private long[][] buffers = new long[64][];
+    /**
+     * States of the transposition table, a slot is replaced when another state falls in it.
+     */
+    private final long[] tableStates = new long[1 << TABLE_BITS];
+    /**
+     * Iteration and depth of each slot of the transposition table, packed as iteration << 16 | depth.
+     */
+    private final int[] tableDepths = new int[1 << TABLE_BITS];
+    /**
+     * Number of the current iteration, the slots written by the previous iterations are ignored.
+     */
+    private int iteration;
+    /**
+     * Number of states expanded over all the iterations.
+     */
+    private long expanded;
+
+    /**
+     * Constructor of the IdaStarSolver.
+     * @param model the model of the level to solve
+     */
+    public IdaStarSolver(LevelModel model) {
+        this.model = model;
+    }
+
+    /**
+     * Searches the shortest sequence of moves that solves the level.
+     * @return the solution, with no path if the level cannot be solved
+     */
+    public Solution solve() {
+        long start = System.nanoTime();
+        heuristic = new Heuristic(model);
+        expanded = 0;
+        path[0] = model.getInitialState();
+        int bound = heuristic.estimate(path[0]);
+        while (bound != Heuristic.UNREACHABLE) {
+            iteration++;
+            int result = search(0, bound);
+            if (result >= 0) {
+                bound = result;
+                continue;
+            }
+            int moves = -result - 1;
+            return new Solution(Arrays.copyOf(path, moves + 1), expanded, expanded, System.nanoTime() - start,
+                    memory());
+        }
+        return new Solution(null, expanded, expanded, System.nanoTime() - start, memory());
+    }
+
+    /**
+     * Depth first search from the last state of the current path.
+     * @param depth number of moves from the start to the last state of the path
+     * @param bound maximal estimated total cost of this iteration
+     * @return -(moves + 1) if a goal was found, otherwise the smallest estimated total cost above the bound,
+     * or UNREACHABLE if no state was cut by the bound
+     */
+    private int search(int depth, int bound) {
+        long state = path[depth];
+        int estimate = heuristic.estimate(state);
+        if (estimate == Heuristic.UNREACHABLE) return Heuristic.UNREACHABLE;
+        if (depth + estimate > bound) return depth + estimate;
+        if (model.isGoal(state)) return FOUND - depth;
+        if (!record(state, depth)) return Heuristic.UNREACHABLE;
+        expanded++;
+
+        if (depth + 1 == path.length) {
+            path = Arrays.copyOf(path, path.length * 2);
+            buffers = Arrays.copyOf(buffers, buffers.length * 2);
+        }
+        if (buffers[depth] == null) buffers[depth] = new long[model.getMaxSuccessors()];
+        long[] successors = buffers[depth];
+        int count = model.successors(state, successors);
+        int next = Heuristic.UNREACHABLE;
+        for (int k = 0; k < count; k++) {
+            if (onPath(successors[k], depth)) continue;
+            path[depth + 1] = successors[k];
+            int result = search(depth + 1, bound);
+            if (result < 0) return result;
+            next = Math.min(next, result);
+        }
+        return next;
+    }
+
+    /**
+     * Records a state in the transposition table.
+     * @param state a packed state
+     * @param depth number of moves from the start to the state
+     * @return false if the state was already reached at this depth or less during the current iteration
+     */
+    private boolean record(long state, int depth) {
+        int slot = (int) LongStateSet.mix(state) & (tableStates.length - 1);
+        int stamp = iteration << 16 | depth;
+        if (tableStates[slot] == state && tableDepths[slot] >>> 16 == iteration && tableDepths[slot] <= stamp) {
+            return false;
+        }
+        tableStates[slot] = state;
+        tableDepths[slot] = stamp;
+        return true;
+    }
+
+    /**
+     * @param state a packed state
+     * @param depth index of the last state of the current path
+     * @return true if the state is already on the current path
+     */
+    private boolean onPath(long state, int depth) {
+        for (int i = depth; i >= 0; i--) {
+            if (path[i] == state) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return the memory used by the path, the buffers, the transposition table and the heuristic in bytes
+     */
+    private long memory() {
+        long bytes = path.length * 8L + tableStates.length * 12L + heuristic.getMemoryBytes();
+        for (long[] buffer : buffers) {
+            if (buffer != null) bytes += buffer.length * 8L;
+        }
+        return bytes;
+    }
+}
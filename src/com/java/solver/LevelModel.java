@@ -0,0 +1,414 @@
+package com.java.solver;
+
+import com.java.geometry.BitBoard;
+import com.java.geometry.IntCoordinates;
+import com.java.logic.Arena;
+import com.java.logic.LevelManager;
+import com.java.logic.PieceLogic;
+import com.java.piece.Target;
+import com.java.piece.decorator.Decorator;
+
+import java.util.ArrayList;
+
+
+/**
+ * Headless model of a level used by the solver.
+ * A state of the level is packed in a single long, with 10 bits per piece:
+ * 4 bits for the orientation index, 3 bits for the X offset and 3 bits for the Y offset.
+ * The arena and the footprints of the pieces are bit masks, so a legality check is a few shifts and ANDs.
+ */
+public class LevelModel {
+    /**
+     * Number of bits used by a piece in a packed state.
+     */
+    public static final int BITS_PER_PIECE = 10;
+    /**
+     * Maximum number of pieces in a level, so that a state fits in 60 bits.
+     */
+    public static final int MAX_PIECES = 6;
+
+    /**
+     * Width of the arena.
+     */
+    private final int width;
+    /**
+     * Height of the arena.
+     */
+    private final int height;
+    /**
+     * Playable cells of the arena.
+     */
+    private final long arenaMask;
+    /**
+     * Models of the pieces, in the order of the PieceLogic.
+     */
+    private final PieceModel[] pieces;
+    /**
+     * Index of the piece of each target.
+     */
+    private final int[] targetPieces;
+    /**
+     * Orientations of the piece that match the shape of each target, as a bit set.
+     */
+    private final int[] targetOrientations;
+    /**
+     * Offset on the X-axis of each target.
+     */
+    private final int[] targetX;
+    /**
+     * Offset on the Y-axis of each target.
+     */
+    private final int[] targetY;
+    /**
+     * Packed state at the start of the level.
+     */
+    private final long initialState;
+
+    /**
+     * Builds the model of a level from its arena and its pieces.
+     * @param arena the arena of the level
+     * @param pieceLogic the pieces and targets of the level, in their starting state
+     */
+    public LevelModel(Arena arena, PieceLogic pieceLogic) {
+        this.width = arena.getWidth();
+        this.height = arena.getHeight();
+        if (width > BitBoard.SIZE || height > BitBoard.SIZE) {
+            throw new IllegalArgumentException("The arena is bigger than " + BitBoard.SIZE + "x" + BitBoard.SIZE
+                    + ".");
+        }
+        ArrayList<Decorator> logicPieces = pieceLogic.getPieces();
+        if (logicPieces.size() > MAX_PIECES) {
+            throw new IllegalArgumentException("The level has more than " + MAX_PIECES + " pieces.");
+        }
+
+        this.arenaMask = arena.getMask();
+
+        this.pieces = new PieceModel[logicPieces.size()];
+        for (int i = 0; i < pieces.length; i++) {
+            pieces[i] = new PieceModel(logicPieces.get(i));
+        }
+        this.initialState = encode(pieceLogic);
+
+        ArrayList<Target> targets = pieceLogic.getTargets();
+        this.targetPieces = new int[targets.size()];
+        this.targetOrientations = new int[targets.size()];
+        this.targetX = new int[targets.size()];
+        this.targetY = new int[targets.size()];
+        for (int t = 0; t < targets.size(); t++) {
+            Target target = targets.get(t);
+            int p = logicPieces.indexOf(target.getPiece());
+            targetPieces[t] = p;
+            targetX[t] = target.getDest().getX();
+            targetY[t] = target.getDest().getY();
+            for (int o = 0; o < pieces[p].getOrientationCount(); o++) {
+                if (sameShape(pieces[p].getShape(o), target.getShape())) targetOrientations[t] |= 1 << o;
+            }
+        }
+    }
+
+    /**
+     * Loads a level from the resources without any GUI.
+     * @param level the id of the level
+     * @return the model of the level
+     */
+    public static LevelModel load(int level) {
+        PieceLogic pieceLogic = new PieceLogic();
+        Arena arena = new Arena(level);
+        LevelManager.loadPiecesFromJson(pieceLogic, level);
+        return new LevelModel(arena, pieceLogic);
+    }
+
+    /**
+     * Packs the current state of the pieces of a PieceLogic.
+     * @param pieceLogic the pieces to pack, they must be the pieces the model was built from
+     * @return the packed state
+     */
+    public long encode(PieceLogic pieceLogic) {
+        long state = 0;
+        for (int i = 0; i < pieces.length; i++) {
+            Decorator piece = pieceLogic.getPieces().get(i);
+            int orientation = pieces[i].indexOf(PieceModel.signature(piece));
+            IntCoordinates offset = piece.getPiece().getOffset();
+            if (orientation < 0 || offset.getX() < 0 || offset.getY() < 0
+                    || offset.getX() >= BitBoard.SIZE || offset.getY() >= BitBoard.SIZE) {
+                throw new IllegalArgumentException("The piece " + i + " is not in a state known by the model.");
+            }
+            state = with(state, i, orientation, offset.getX(), offset.getY());
+        }
+        return state;
+    }
+
+    /**
+     * @param state a packed state
+     * @return true if every target is reached in this state
+     */
+    public boolean isGoal(long state) {
+        for (int t = 0; t < targetPieces.length; t++) {
+            int p = targetPieces[t];
+            if (getX(state, p) != targetX[t] || getY(state, p) != targetY[t]) return false;
+            if ((targetOrientations[t] & (1 << getOrientation(state, p))) == 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Generates every state reachable in one move.
+     * @param state the packed state to expand
+     * @param out buffer where the successors are written, it must hold at least getMaxSuccessors() values
+     * @return the number of successors written in the buffer
+     */
+    public int successors(long state, long[] out) {
+        long occupied = 0;
+        for (int i = 0; i < pieces.length; i++) occupied |= footprint(state, i);
+        int n = 0;
+        for (int i = 0; i < pieces.length; i++) {
+            PieceModel piece = pieces[i];
+            int orientation = getOrientation(state, i);
+            int x = getX(state, i);
+            int y = getY(state, i);
+            long others = occupied & ~footprint(state, i);
+            int[] targets = piece.getTransitionTargets(orientation);
+            int[] dx = piece.getTransitionDx(orientation);
+            int[] dy = piece.getTransitionDy(orientation);
+            for (int t = 0; t < targets.length; t++) {
+                int next = targets[t];
+                int nx = x + dx[t];
+                int ny = y + dy[t];
+                // Check if the piece is colliding with the walls
+                if (nx < 0 || ny < 0 || nx + piece.getWidth(next) > width || ny + piece.getHeight(next) > height) {
+                    continue;
+                }
+                long moved = piece.getFootprint(next) << (ny * BitBoard.STRIDE + nx);
+                // Check if the piece is on a non-playable cell or on another piece
+                if ((moved & ~arenaMask) != 0 || (moved & others) != 0) continue;
+                out[n++] = with(state, i, next, nx, ny);
+            }
+        }
+        return n;
+    }
+
+    /**
+     * @param state a packed state
+     * @param piece index of the piece
+     * @return the cells covered by the piece in this state
+     */
+    public long footprint(long state, int piece) {
+        return pieces[piece].getFootprint(getOrientation(state, piece))
+                << (getY(state, piece) * BitBoard.STRIDE + getX(state, piece));
+    }
+
+    /**
+     * Describes the move between two states, used to print solutions.
+     * @param from the state before the move
+     * @param to the state after the move
+     * @return a short description of the move
+     */
+    public String describe(long from, long to) {
+        for (int i = 0; i < pieces.length; i++) {
+            if (getOrientation(from, i) != getOrientation(to, i)) {
+                return "piece " + i + " turns to orientation " + getOrientation(to, i);
+            }
+            int dx = getX(to, i) - getX(from, i);
+            int dy = getY(to, i) - getY(from, i);
+            if (dx != 0 || dy != 0) {
+                String direction = dy < 0 ? "north" : dx > 0 ? "east" : dy > 0 ? "south" : "west";
+                return "piece " + i + " moves " + direction;
+            }
+        }
+        return "no move";
+    }
+
+    /**
+     * Checks if every move can be undone by a single move, for example a translation to the north
+     * by a translation to the south. The graph of the states is then undirected.
+     * A move that is legal is always legal backward, since the piece goes back on cells it covered.
+     * @return true if every transition of every piece has a reverse transition
+     */
+    public boolean isReversible() {
+        for (PieceModel piece : pieces) {
+            for (int o = 0; o < piece.getOrientationCount(); o++) {
+                int[] targets = piece.getTransitionTargets(o);
+                for (int t = 0; t < targets.length; t++) {
+                    if (!hasTransition(piece, targets[t], o, -piece.getTransitionDx(o)[t],
+                            -piece.getTransitionDy(o)[t])) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param piece model of a piece
+     * @param from orientation before the transition
+     * @param to orientation after the transition
+     * @param dx offset delta on the X-axis
+     * @param dy offset delta on the Y-axis
+     * @return true if the piece has this transition
+     */
+    private static boolean hasTransition(PieceModel piece, int from, int to, int dx, int dy) {
+        int[] targets = piece.getTransitionTargets(from);
+        for (int t = 0; t < targets.length; t++) {
+            if (targets[t] == to && piece.getTransitionDx(from)[t] == dx && piece.getTransitionDy(from)[t] == dy) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compares two shapes.
+     * @param a first shape
+     * @param b second shape
+     * @return true if the shapes are identical
+     */
+    private static boolean sameShape(boolean[][] a, boolean[][] b) {
+        if (a.length != b.length || a[0].length != b[0].length) return false;
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < a[0].length; j++) {
+                if (a[i][j] != b[i][j]) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Replaces the fields of a piece in a packed state.
+     * @param state the packed state
+     * @param piece index of the piece
+     * @param orientation new orientation of the piece
+     * @param x new offset of the piece on the X-axis
+     * @param y new offset of the piece on the Y-axis
+     * @return the new packed state
+     */
+    public static long with(long state, int piece, int orientation, int x, int y) {
+        int shift = piece * BITS_PER_PIECE;
+        long fields = ((long) orientation << 6) | ((long) x << 3) | y;
+        return (state & ~(0x3FFL << shift)) | (fields << shift);
+    }
+
+    /**
+     * @param state a packed state
+     * @param piece index of the piece
+     * @return the orientation of the piece
+     */
+    public static int getOrientation(long state, int piece) {
+        return (int) (state >>> (piece * BITS_PER_PIECE + 6)) & 0xF;
+    }
+
+    /**
+     * @param state a packed state
+     * @param piece index of the piece
+     * @return the offset of the piece on the X-axis
+     */
+    public static int getX(long state, int piece) {
+        return (int) (state >>> (piece * BITS_PER_PIECE + 3)) & 0x7;
+    }
+
+    /**
+     * @param state a packed state
+     * @param piece index of the piece
+     * @return the offset of the piece on the Y-axis
+     */
+    public static int getY(long state, int piece) {
+        return (int) (state >>> (piece * BITS_PER_PIECE)) & 0x7;
+    }
+
+    /**
+     * @return the maximum number of successors a state can have
+     */
+    public int getMaxSuccessors() {
+        int max = 0;
+        for (PieceModel piece : pieces) {
+            int most = 0;
+            for (int o = 0; o < piece.getOrientationCount(); o++) {
+                most = Math.max(most, piece.getTransitionTargets(o).length);
+            }
+            max += most;
+        }
+        return max;
+    }
+
+    /**
+     * @return the packed state at the start of the level
+     */
+    public long getInitialState() {
+        return initialState;
+    }
+
+    /**
+     * @return the number of pieces in the level
+     */
+    public int getPieceCount() {
+        return pieces.length;
+    }
+
+    /**
+     * @param piece index of the piece
+     * @return the model of the piece
+     */
+    public PieceModel getPiece(int piece) {
+        return pieces[piece];
+    }
+
+    /**
+     * @return the number of targets in the level
+     */
+    public int getTargetCount() {
+        return targetPieces.length;
+    }
+
+    /**
+     * @param target index of the target
+     * @return the index of the piece that must reach the target
+     */
+    public int getTargetPiece(int target) {
+        return targetPieces[target];
+    }
+
+    /**
+     * @param target index of the target
+     * @return the orientations of the piece that match the shape of the target, as a bit set
+     */
+    public int getTargetOrientations(int target) {
+        return targetOrientations[target];
+    }
+
+    /**
+     * @param target index of the target
+     * @return the offset of the target on the X-axis
+     */
+    public int getTargetX(int target) {
+        return targetX[target];
+    }
+
+    /**
+     * @param target index of the target
+     * @return the offset of the target on the Y-axis
+     */
+    public int getTargetY(int target) {
+        return targetY[target];
+    }
+
+    /**
+     * @return the playable cells of the arena
+     */
+    public long getArenaMask() {
+        return arenaMask;
+    }
+
+    /**
+     * @return the width of the arena
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return the height of the arena
+     */
+    public int getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,104 @@
+package com.java.solver;
+
+import java.util.Arrays;
+
+
+/**
+ * Map from packed states to int values using open addressing, so that nothing is boxed.
+ * Like in the LongStateSet, the value -1 marks the empty slots.
+ */
+public class LongIntMap {
+    /**
+     * Value returned for a state that is not in the map.
+     */
+    public static final int MISSING = -1;
+
+    /**
+     * Keys of the table, the length is always a power of two.
+     */
+    private long[] keys;
+    /**
+     * Value of each key.
+     */
+    private int[] values;
+    /**
+     * Number of states in the map.
+     */
+    private int size = 0;
+
+    /**
+     * Creates a map able to hold the given number of states before growing.
+     * @param expected number of states expected in the map
+     */
+    public LongIntMap(int expected) {
+        int capacity = 16;
+        while (capacity < expected * 2) capacity <<= 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, LongStateSet.EMPTY);
+    }
+
+    /**
+     * Associates a value with a state, replacing the previous one.
+     * @param state the packed state
+     * @param value the value, it must not be MISSING
+     */
+    public void put(long state, int value) {
+        if (size * 2 >= keys.length) grow();
+        int mask = keys.length - 1;
+        int i = (int) LongStateSet.mix(state) & mask;
+        while (keys[i] != LongStateSet.EMPTY) {
+            if (keys[i] == state) {
+                values[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = state;
+        values[i] = value;
+        size++;
+    }
+
+    /**
+     * @param state a packed state
+     * @return the value of the state, or MISSING if it is not in the map
+     */
+    public int get(long state) {
+        int mask = keys.length - 1;
+        int i = (int) LongStateSet.mix(state) & mask;
+        while (keys[i] != LongStateSet.EMPTY) {
+            if (keys[i] == state) return values[i];
+            i = (i + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    /**
+     * Doubles the capacity of the table.
+     */
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        Arrays.fill(keys, LongStateSet.EMPTY);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != LongStateSet.EMPTY) put(oldKeys[i], oldValues[i]);
+        }
+    }
+
+    /**
+     * @return the memory used by the table in bytes
+     */
+    public long getMemoryBytes() {
+        return keys.length * 12L;
+    }
+
+    /**
+     * @return the number of states in the map
+     */
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,117 @@
+package com.java.solver;
+
+import java.util.Arrays;
+
+
+/**
+ * Set of packed states using open addressing, so that no state is boxed.
+ * The value -1 is used for the empty slots, it is never a valid state because a state uses at most 60 bits.
+ * The parent of each state is kept in a second array, at the index of its slot.
+ */
+public class LongStateSet implements StateSet {
+    /**
+     * Value of an empty slot.
+     */
+    public static final long EMPTY = -1L;
+
+    /**
+     * Slots of the table, the length is always a power of two.
+     */
+    private long[] slots;
+    /**
+     * Parent of the state of each slot.
+     */
+    private long[] parents;
+    /**
+     * Number of states in the set.
+     */
+    private int size = 0;
+
+    /**
+     * Creates a set able to hold the given number of states before growing.
+     * @param expected number of states expected in the set
+     */
+    public LongStateSet(int expected) {
+        int capacity = 16;
+        while (capacity < expected * 2) capacity <<= 1;
+        slots = new long[capacity];
+        parents = new long[capacity];
+        Arrays.fill(slots, EMPTY);
+    }
+
+    @Override
+    public boolean add(long state, long parent) {
+        if (size * 2 >= slots.length) grow();
+        int mask = slots.length - 1;
+        int i = (int) mix(state) & mask;
+        while (slots[i] != EMPTY) {
+            if (slots[i] == state) return false;
+            i = (i + 1) & mask;
+        }
+        slots[i] = state;
+        parents[i] = parent;
+        size++;
+        return true;
+    }
+
+    @Override
+    public long getParent(long state) {
+        int mask = slots.length - 1;
+        int i = (int) mix(state) & mask;
+        while (slots[i] != EMPTY) {
+            if (slots[i] == state) return parents[i];
+            i = (i + 1) & mask;
+        }
+        return EMPTY;
+    }
+
+    @Override
+    public boolean contains(long state) {
+        int mask = slots.length - 1;
+        int i = (int) mix(state) & mask;
+        while (slots[i] != EMPTY) {
+            if (slots[i] == state) return true;
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Doubles the capacity of the table.
+     */
+    private void grow() {
+        long[] old = slots;
+        long[] oldParents = parents;
+        slots = new long[old.length * 2];
+        parents = new long[old.length * 2];
+        Arrays.fill(slots, EMPTY);
+        size = 0;
+        for (int i = 0; i < old.length; i++) {
+            if (old[i] != EMPTY) add(old[i], oldParents[i]);
+        }
+    }
+
+    /**
+     * Spreads the bits of a state so that close states do not end in close slots.
+     * @param state a packed state
+     * @return the mixed value
+     */
+    public static long mix(long state) {
+        state ^= state >>> 33;
+        state *= 0xff51afd7ed558ccdL;
+        state ^= state >>> 33;
+        state *= 0xc4ceb9fe1a85ec53L;
+        state ^= state >>> 33;
+        return state;
+    }
+
+    @Override
+    public long getMemoryBytes() {
+        return slots.length * 16L;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+}
@@ -0,0 +1,200 @@
+package com.java.solver;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+
+
+/**
+ * Set of packed states stored outside of the Java heap, in direct buffers, using open addressing.
+ * The garbage collector never scans the slots, so a set of tens of millions of states does not slow it down.
+ * The table is split in segments of at most SEGMENT_SLOTS slots because a buffer is limited to 2 GB.
+ * A slot is two longs: the state, stored as state + 1 so that the zeros of a new buffer are the empty slots,
+ * then its parent. The parents are what the search needs to rebuild its path, so the budget covers every
+ * state it has seen.
+ * The table doubles when it is half full, but never above its memory budget: while it grows, the old table and
+ * the new one are both allocated, so it only grows if both fit in the budget together.
+ * Once it cannot grow it fills up to MAX_LOAD, then add() throws an IllegalStateException.
+ */
+public class OffHeapStateSet implements StateSet {
+    /**
+     * Maximal number of slots of a segment.
+     */
+    private static final int SEGMENT_SLOTS = 1 << 24;
+    /**
+     * Maximal fill ratio of the table once it cannot grow any more.
+     */
+    private static final double MAX_LOAD = 0.75;
+    /**
+     * Size of a slot in bytes, the state and its parent.
+     */
+    private static final int SLOT_BYTES = 16;
+
+    /**
+     * Maximal memory of the table in bytes.
+     */
+    private final long budget;
+    /**
+     * Segments of the table.
+     */
+    private LongBuffer[] segments;
+    /**
+     * Number of slots of the table, always a power of two.
+     */
+    private long capacity;
+    /**
+     * Number of states in the set.
+     */
+    private long size = 0;
+
+    /**
+     * Creates an empty set.
+     * @param budget maximal memory of the table in bytes, at least 256 bytes
+     */
+    public OffHeapStateSet(long budget) {
+        if (budget < 16 * SLOT_BYTES) throw new IllegalArgumentException("The memory budget is too small: " + budget + ".");
+        this.budget = budget;
+        allocate(Math.min(1024, Long.highestOneBit(budget / SLOT_BYTES)));
+    }
+
+    /**
+     * Allocates empty segments for the given number of slots.
+     * @param slots number of slots, a power of two
+     */
+    private void allocate(long slots) {
+        capacity = slots;
+        int perSegment = (int) Math.min(slots, SEGMENT_SLOTS);
+        segments = new LongBuffer[(int) (slots / perSegment)];
+        for (int s = 0; s < segments.length; s++) {
+            segments[s] = ByteBuffer.allocateDirect(perSegment * SLOT_BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+        }
+    }
+
+    @Override
+    public boolean add(long state, long parent) {
+        if (size * 2 >= capacity && !grow() && size >= capacity * MAX_LOAD) {
+            throw new IllegalStateException("The memory budget of " + budget + " bytes is exhausted after "
+                    + size + " states.");
+        }
+        long mask = capacity - 1;
+        long i = LongStateSet.mix(state) & mask;
+        long stored;
+        while ((stored = get(i)) != 0) {
+            if (stored == state + 1) return false;
+            i = (i + 1) & mask;
+        }
+        set(i, state + 1, parent);
+        size++;
+        return true;
+    }
+
+    @Override
+    public long getParent(long state) {
+        long mask = capacity - 1;
+        long i = LongStateSet.mix(state) & mask;
+        long stored;
+        while ((stored = get(i)) != 0) {
+            if (stored == state + 1) return getParentAt(i);
+            i = (i + 1) & mask;
+        }
+        return LongStateSet.EMPTY;
+    }
+
+    @Override
+    public boolean contains(long state) {
+        long mask = capacity - 1;
+        long i = LongStateSet.mix(state) & mask;
+        long stored;
+        while ((stored = get(i)) != 0) {
+            if (stored == state + 1) return true;
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Doubles the capacity of the table if the budget allows it, counting the old table that is still allocated
+     * while the states are copied.
+     * The old segments are released by the garbage collector with their buffers.
+     * @return true if the table has grown
+     */
+    private boolean grow() {
+        if (capacity * 3 * SLOT_BYTES > budget) return false;
+        LongBuffer[] old = segments;
+        allocate(capacity * 2);
+        size = 0;
+        for (LongBuffer segment : old) {
+            for (int i = 0; i < segment.capacity(); i += 2) {
+                long stored = segment.get(i);
+                if (stored != 0) add(stored - 1, segment.get(i + 1));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param slot index of a slot
+     * @return the value stored in the slot, 0 if it is empty
+     */
+    private long get(long slot) {
+        LongBuffer segment = segments[(int) (slot >>> 24)];
+        return segment.get(index(segment, slot));
+    }
+
+    /**
+     * @param slot index of a non-empty slot
+     * @return the parent of the state stored in the slot
+     */
+    private long getParentAt(long slot) {
+        LongBuffer segment = segments[(int) (slot >>> 24)];
+        return segment.get(index(segment, slot) + 1);
+    }
+
+    /**
+     * @param slot index of a slot
+     * @param value the value to store in the slot
+     * @param parent the parent of the state stored in the slot
+     */
+    private void set(long slot, long value, long parent) {
+        LongBuffer segment = segments[(int) (slot >>> 24)];
+        int index = index(segment, slot);
+        segment.put(index, value);
+        segment.put(index + 1, parent);
+    }
+
+    /**
+     * @param segment the segment of a slot
+     * @param slot index of the slot
+     * @return the index of the first long of the slot in its segment
+     */
+    private static int index(LongBuffer segment, long slot) {
+        return (int) (slot & (segment.capacity() / 2 - 1)) * 2;
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public long getMemoryBytes() {
+        return capacity * SLOT_BYTES;
+    }
+
+    /**
+     * Parses a memory size given on the command line, like 512k, 256m or 2g.
+     * @param text the size, with an optional unit
+     * @return the size in bytes
+     */
+    public static long parseSize(String text) {
+        String lower = text.trim().toLowerCase();
+        long unit = switch (lower.charAt(lower.length() - 1)) {
+            case 'k' -> 1L << 10;
+            case 'm' -> 1L << 20;
+            case 'g' -> 1L << 30;
+            default -> 1;
+        };
+        String digits = unit == 1 ? lower : lower.substring(0, lower.length() - 1);
+        return Long.parseLong(digits) * unit;
+    }
+}
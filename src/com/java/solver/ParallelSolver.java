@@ -0,0 +1,199 @@
+package com.java.solver;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Level-synchronous breadth first search running on a ForkJoinPool.
+ * Each layer of the search is split into chunks expanded by the threads of the pool,
+ * the new states are deduplicated in a ConcurrentStateSet and collected by each chunk, then concatenated into
+ * the next layer. A layer is expanded in batches small enough for the set to receive every successor of the
+ * batch without growing, so the set only grows with the states actually added.
+ * Since a whole layer is expanded before the next one, the first goal found is at the minimal number of moves.
+ */
+public class ParallelSolver {
+    /**
+     * Number of states of a layer under which a chunk is not split any more.
+     */
+    private static final int THRESHOLD = 256;
+
+    /**
+     * Model of the level to solve.
+     */
+    private final LevelModel model;
+    /**
+     * Pool running the expansion of the layers.
+     */
+    private final ForkJoinPool pool;
+    /**
+     * Successors buffer of each thread, so that expanding a state allocates nothing.
+     */
+    private final ThreadLocal<long[]> buffers;
+
+    /**
+     * Constructor of the ParallelSolver.
+     * @param model the model of the level to solve
+     * @param pool the pool running the search
+     */
+    public ParallelSolver(LevelModel model, ForkJoinPool pool) {
+        this.model = model;
+        this.pool = pool;
+        this.buffers = ThreadLocal.withInitial(() -> new long[model.getMaxSuccessors()]);
+    }
+
+    /**
+     * Searches the shortest sequence of moves that solves the level.
+     * @return the solution, with no path if the level cannot be solved
+     */
+    public Solution solve() {
+        long start = System.nanoTime();
+        int maxSuccessors = model.getMaxSuccessors();
+        ConcurrentStateSet visited = new ConcurrentStateSet(1024);
+        visited.add(model.getInitialState(), LongStateSet.EMPTY);
+        visited.count(1);
+        long[] layer = {model.getInitialState()};
+        long expanded = 0;
+        long peakMemory = 0;
+        AtomicLong goal = new AtomicLong(LongStateSet.EMPTY);
+
+        while (layer.length > 0) {
+            Queue<long[]> chunks = new ConcurrentLinkedQueue<>();
+            long chunksBytes = 0;
+            int done = 0;
+            while (done < layer.length && goal.get() == LongStateSet.EMPTY) {
+                // The set must be able to receive every successor of the batch, it only doubles once it is too
+                // full for those of a single state, so the batches get smaller as the set fills up
+                while (visited.getFreeSlots() < maxSuccessors) visited.grow();
+                int batch = (int) Math.min(layer.length - done, visited.getFreeSlots() / maxSuccessors);
+                Queue<long[]> added = new ConcurrentLinkedQueue<>();
+                pool.invoke(new Expand(layer, done, done + batch, added, visited, goal));
+                int count = 0;
+                for (long[] chunk : added) count += chunk.length;
+                visited.count(count);
+                chunksBytes += count * 8L;
+                chunks.addAll(added);
+                done += batch;
+            }
+            expanded += done;
+            peakMemory = Math.max(peakMemory, layer.length * 8L + chunksBytes * 2 + visited.getMemoryBytes());
+            if (goal.get() != LongStateSet.EMPTY) {
+                return new Solution(path(visited, goal.get()), expanded, visited.size(), System.nanoTime() - start,
+                        peakMemory);
+            }
+            layer = concat(chunks, (int) (chunksBytes / 8));
+        }
+        return new Solution(null, expanded, visited.size(), System.nanoTime() - start, peakMemory);
+    }
+
+    /**
+     * @param chunks states collected by the chunks of a layer
+     * @param size number of states in the chunks
+     * @return the states of every chunk in a single array
+     */
+    private static long[] concat(Queue<long[]> chunks, int size) {
+        long[] next = new long[size];
+        int length = 0;
+        for (long[] chunk : chunks) {
+            System.arraycopy(chunk, 0, next, length, chunk.length);
+            length += chunk.length;
+        }
+        return next;
+    }
+
+    /**
+     * Rebuilds the path from the start to a state with the parents stored in the set.
+     * @param visited the set of the states seen by the search
+     * @param last the last state of the path
+     * @return the states from the start to the last state
+     */
+    private static long[] path(ConcurrentStateSet visited, long last) {
+        int length = 0;
+        for (long s = last; s != LongStateSet.EMPTY; s = visited.getParent(s)) length++;
+        long[] path = new long[length];
+        for (long s = last; s != LongStateSet.EMPTY; s = visited.getParent(s)) path[--length] = s;
+        return path;
+    }
+
+    /**
+     * Expansion of a chunk of a layer, split in two while it is bigger than THRESHOLD.
+     * It is never serialized.
+     */
+    @SuppressWarnings("serial")
+    private class Expand extends RecursiveAction {
+        /**
+         * States of the layer.
+         */
+        private final long[] layer;
+        /**
+         * Index of the first state of the chunk.
+         */
+        private final int from;
+        /**
+         * Index after the last state of the chunk.
+         */
+        private final int to;
+        /**
+         * New states found by each chunk, shared by every chunk of the batch.
+         */
+        private final Queue<long[]> added;
+        /**
+         * States seen by the search.
+         */
+        private final ConcurrentStateSet visited;
+        /**
+         * Goal state found in the layer, EMPTY while there is none.
+         */
+        private final AtomicLong goal;
+
+        /**
+         * Constructor of the Expand task.
+         * @param layer states of the layer
+         * @param from index of the first state of the chunk
+         * @param to index after the last state of the chunk
+         * @param added new states found by each chunk
+         * @param visited states seen by the search
+         * @param goal goal state found in the layer
+         */
+        Expand(long[] layer, int from, int to, Queue<long[]> added, ConcurrentStateSet visited, AtomicLong goal) {
+            this.layer = layer;
+            this.from = from;
+            this.to = to;
+            this.added = added;
+            this.visited = visited;
+            this.goal = goal;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Expand(layer, from, middle, added, visited, goal),
+                        new Expand(layer, middle, to, added, visited, goal));
+                return;
+            }
+            long[] successors = buffers.get();
+            // Most successors are already known, the chunk starts with one new state per state and grows
+            long[] chunk = new long[to - from];
+            int size = 0;
+            for (int i = from; i < to; i++) {
+                long state = layer[i];
+                if (model.isGoal(state)) {
+                    goal.compareAndSet(LongStateSet.EMPTY, state);
+                    break;
+                }
+                int count = model.successors(state, successors);
+                for (int k = 0; k < count; k++) {
+                    if (!visited.add(successors[k], state)) continue;
+                    if (size == chunk.length) chunk = Arrays.copyOf(chunk, chunk.length * 2);
+                    chunk[size++] = successors[k];
+                }
+            }
+            if (size > 0) added.add(size == chunk.length ? chunk : Arrays.copyOf(chunk, size));
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package com.java.solver;
+
+import com.java.geometry.BitBoard;
+import com.java.geometry.IntCoordinates;
+import com.java.piece.Piece;
+import com.java.piece.PieceBrute;
+import com.java.piece.decorator.Decorator;
+import com.java.piece.decorator.Flip;
+import com.java.piece.decorator.Rotation;
+import com.java.piece.decorator.Translation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+
+/**
+ * Compact model of a single piece used by the solver.
+ * Every orientation the piece can reach through its own Rotation and Flip decorators is explored once,
+ * using the real decorator classes, and stored as an index with its footprint and its transitions.
+ * A move then becomes an orientation index change plus an offset delta, with no object manipulation.
+ */
+public class PieceModel {
+    /**
+     * Maximum number of orientations a piece can have, it must fit in the bits reserved by the LevelModel.
+     */
+    public static final int MAX_ORIENTATIONS = 16;
+    /**
+     * Offset deltas of the four translation directions (North, East, South, West).
+     */
+    private static final int[][] DIRECTION_DELTAS = {{0, -1}, {1, 0}, {0, 1}, {-1, 0}};
+
+    /**
+     * Footprint of each orientation as a bit mask, with the top left of the shape at bit 0.
+     * @see BitBoard
+     */
+    private long[] footprints;
+    /**
+     * Width of the shape of each orientation.
+     */
+    private int[] widths;
+    /**
+     * Height of the shape of each orientation.
+     */
+    private int[] heights;
+    /**
+     * Shape of each orientation.
+     */
+    private boolean[][][] shapes;
+    /**
+     * Orientation reached by each transition of each orientation.
+     */
+    private int[][] transitionTargets;
+    /**
+     * Offset delta on the X-axis of each transition of each orientation.
+     */
+    private int[][] transitionDx;
+    /**
+     * Offset delta on the Y-axis of each transition of each orientation.
+     */
+    private int[][] transitionDy;
+    /**
+     * Signature of each orientation, it identifies the state of the decorators of the piece.
+     */
+    private final List<String> signatures = new ArrayList<>();
+    /**
+     * Index of each known signature.
+     */
+    private final HashMap<String, Integer> indexes = new HashMap<>();
+
+    /**
+     * Temporary transitions found during the exploration, one list per orientation.
+     */
+    private final List<List<int[]>> found = new ArrayList<>();
+    /**
+     * Top decorator of the piece, the one stored in the PieceLogic.
+     */
+    private final Decorator top;
+
+    /**
+     * Builds the model of a piece by exploring all of its orientations.
+     * The piece is left in the state it was given.
+     * @param top the last decorator of the piece, as stored in the PieceLogic
+     */
+    public PieceModel(Decorator top) {
+        this.top = top;
+        register();
+        explore(0);
+        freeze();
+    }
+
+    /**
+     * Registers the current orientation of the piece.
+     * @return the index of the orientation
+     */
+    private int register() {
+        String signature = signature(top);
+        Integer index = indexes.get(signature);
+        if (index != null) return index;
+        if (signatures.size() == MAX_ORIENTATIONS) {
+            throw new IllegalStateException("The piece has more than " + MAX_ORIENTATIONS + " orientations.");
+        }
+        indexes.put(signature, signatures.size());
+        signatures.add(signature);
+        found.add(new ArrayList<>());
+        return signatures.size() - 1;
+    }
+
+    /**
+     * Explores every orientation reachable from the current one, depth first.
+     * Each action is applied then reversed with personalReverseAction, like the game does on a collision.
+     * @param orientation index of the current orientation
+     */
+    private void explore(int orientation) {
+        PieceBrute base = top.getPiece();
+        // Translations keep the orientation, all the directions of every translation can be dragged
+        boolean[] directions = new boolean[4];
+        for (Piece p = top; p instanceof Decorator; p = ((Decorator) p).getPrevPiece()) {
+            if (p instanceof Translation t) {
+                for (int k = 0; k < 4; k++) directions[k] |= t.getDirections()[k];
+            }
+        }
+        for (int k = 0; k < 4; k++) {
+            if (directions[k]) {
+                found.get(orientation).add(new int[]{orientation, DIRECTION_DELTAS[k][0], DIRECTION_DELTAS[k][1]});
+            }
+        }
+        // Rotations and flips change the orientation
+        for (Piece p = top; p instanceof Decorator; p = ((Decorator) p).getPrevPiece()) {
+            Decorator decorator = (Decorator) p;
+            if (!(decorator instanceof Rotation || decorator instanceof Flip) || !isClickable(decorator)) continue;
+
+            IntCoordinates before = base.getOffset();
+            decorator.personalAction();
+            IntCoordinates after = base.getOffset();
+            int known = signatures.size();
+            int next = register();
+            found.get(orientation).add(new int[]{next, after.getX() - before.getX(), after.getY() - before.getY()});
+            if (next == known) explore(next);
+            decorator.personalReverseAction();
+
+            if (!signature(top).equals(signatures.get(orientation)) || !base.getOffset().equals(before)) {
+                throw new IllegalStateException("The action of " + decorator.getClass().getSimpleName()
+                        + " is not reversed by personalReverseAction.");
+            }
+        }
+    }
+
+    /**
+     * A decorator can only be clicked if its action point is on the piece,
+     * and if no decorator above it in the chain has the same action point.
+     * @param decorator the decorator to check
+     * @return true if the player can trigger the decorator with a click
+     */
+    private boolean isClickable(Decorator decorator) {
+        IntCoordinates point = decorator.getActionPoint();
+        boolean[][] shape = top.getShape();
+        if (point.getY() < 0 || point.getY() >= shape.length || point.getX() < 0 || point.getX() >= shape[0].length
+                || !shape[point.getY()][point.getX()]) {
+            return false;
+        }
+        for (Decorator d = top; d != decorator; d = (Decorator) d.getPrevPiece()) {
+            if (d.getActionPoint().equals(point)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Converts the explored data into arrays.
+     */
+    private void freeze() {
+        int count = signatures.size();
+        footprints = new long[count];
+        widths = new int[count];
+        heights = new int[count];
+        shapes = new boolean[count][][];
+        transitionTargets = new int[count][];
+        transitionDx = new int[count][];
+        transitionDy = new int[count][];
+        for (int o = 0; o < count; o++) {
+            List<int[]> transitions = found.get(o);
+            transitionTargets[o] = new int[transitions.size()];
+            transitionDx[o] = new int[transitions.size()];
+            transitionDy[o] = new int[transitions.size()];
+            for (int t = 0; t < transitions.size(); t++) {
+                transitionTargets[o][t] = transitions.get(t)[0];
+                transitionDx[o][t] = transitions.get(t)[1];
+                transitionDy[o][t] = transitions.get(t)[2];
+            }
+        }
+        // The shapes are read back from the signatures, the piece is back in its first orientation
+        for (int o = 0; o < count; o++) {
+            String[] rows = signatures.get(o).substring(0, signatures.get(o).indexOf('|')).split("/");
+            shapes[o] = new boolean[rows.length][rows[0].length()];
+            heights[o] = rows.length;
+            widths[o] = rows[0].length();
+            for (int i = 0; i < rows.length; i++) {
+                for (int j = 0; j < rows[i].length(); j++) {
+                    shapes[o][i][j] = rows[i].charAt(j) == '1';
+                }
+            }
+            footprints[o] = BitBoard.mask(shapes[o]);
+        }
+        found.clear();
+    }
+
+    /**
+     * Builds the signature of the current state of a piece.
+     * It contains the shape and, for each decorator, its action point and its parameters.
+     * The position is not part of it, it is stored separately by the LevelModel.
+     * @param top the last decorator of the piece
+     * @return the signature of the piece
+     */
+    static String signature(Decorator top) {
+        StringBuilder text = new StringBuilder();
+        boolean[][] shape = top.getShape();
+        for (int i = 0; i < shape.length; i++) {
+            if (i > 0) text.append('/');
+            for (boolean tile : shape[i]) text.append(tile ? '1' : '0');
+        }
+        text.append('|');
+        for (Piece p = top; p instanceof Decorator; p = ((Decorator) p).getPrevPiece()) {
+            Decorator decorator = (Decorator) p;
+            text.append(decorator.getActionPoint().getX()).append(',').append(decorator.getActionPoint().getY());
+            if (decorator instanceof Rotation r) {
+                text.append('R').append(r.getRotationDirection() ? '+' : '-');
+            } else if (decorator instanceof Flip f) {
+                text.append('F').append(f.getFlipAxis() ? 'x' : 'y');
+            } else if (decorator instanceof Translation t) {
+                text.append('T');
+                for (boolean direction : t.getDirections()) text.append(direction ? '1' : '0');
+            }
+            text.append(';');
+        }
+        return text.toString();
+    }
+
+    /**
+     * @param signature the signature of a piece state
+     * @return the index of the orientation with this signature, or -1 if it is unknown
+     */
+    public int indexOf(String signature) {
+        Integer index = indexes.get(signature);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * @return the number of orientations of the piece
+     */
+    public int getOrientationCount() {
+        return signatures.size();
+    }
+
+    /**
+     * @param orientation index of the orientation
+     * @return the footprint of the orientation with its top left corner at bit 0
+     */
+    public long getFootprint(int orientation) {
+        return footprints[orientation];
+    }
+
+    /**
+     * @param orientation index of the orientation
+     * @return the width of the shape in this orientation
+     */
+    public int getWidth(int orientation) {
+        return widths[orientation];
+    }
+
+    /**
+     * @param orientation index of the orientation
+     * @return the height of the shape in this orientation
+     */
+    public int getHeight(int orientation) {
+        return heights[orientation];
+    }
+
+    /**
+     * @param orientation index of the orientation
+     * @return the shape of the piece in this orientation
+     */
+    public boolean[][] getShape(int orientation) {
+        return shapes[orientation];
+    }
+
+    /**
+     * @param orientation index of the orientation
+     * @return the orientation reached by each transition
+     */
+    public int[] getTransitionTargets(int orientation) {
+        return transitionTargets[orientation];
+    }
+
+    /**
+     * @param orientation index of the orientation
+     * @return the offset delta on the X-axis of each transition
+     */
+    public int[] getTransitionDx(int orientation) {
+        return transitionDx[orientation];
+    }
+
+    /**
+     * @param orientation index of the orientation
+     * @return the offset delta on the Y-axis of each transition
+     */
+    public int[] getTransitionDy(int orientation) {
+        return transitionDy[orientation];
+    }
+}
@@ -0,0 +1,100 @@
+package com.java.solver;
+
+
+/**
+ * Result of a search: the optimal sequence of states and some statistics about the search.
+ */
+public class Solution {
+    /**
+     * States from the start of the level to the goal, or null if the level cannot be solved.
+     */
+    private final long[] path;
+    /**
+     * Number of states expanded by the search.
+     */
+    private final long expanded;
+    /**
+     * Number of distinct states seen by the search.
+     */
+    private final long visited;
+    /**
+     * Duration of the search in nanoseconds.
+     */
+    private final long elapsedNanos;
+    /**
+     * Memory used by the data structures of the search at its peak, in bytes.
+     */
+    private final long peakMemoryBytes;
+
+    /**
+     * Constructor of the Solution.
+     * @param path states from the start to the goal, null if there is none
+     * @param expanded number of states expanded by the search
+     * @param visited number of distinct states seen by the search
+     * @param elapsedNanos duration of the search in nanoseconds
+     * @param peakMemoryBytes memory used by the data structures of the search at its peak, in bytes
+     */
+    public Solution(long[] path, long expanded, long visited, long elapsedNanos, long peakMemoryBytes) {
+        this.path = path;
+        this.expanded = expanded;
+        this.visited = visited;
+        this.elapsedNanos = elapsedNanos;
+        this.peakMemoryBytes = peakMemoryBytes;
+    }
+
+    /**
+     * @return true if a solution was found
+     */
+    public boolean isSolved() {
+        return path != null;
+    }
+
+    /**
+     * @return the minimal number of moves, or -1 if the level cannot be solved
+     */
+    public int getMoves() {
+        return path == null ? -1 : path.length - 1;
+    }
+
+    /**
+     * @return the states from the start of the level to the goal, or null if there is none
+     */
+    public long[] getPath() {
+        return path;
+    }
+
+    /**
+     * @return the number of states expanded by the search
+     */
+    public long getExpanded() {
+        return expanded;
+    }
+
+    /**
+     * @return the number of distinct states seen by the search
+     */
+    public long getVisited() {
+        return visited;
+    }
+
+    /**
+     * @return the duration of the search in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return the memory used by the data structures of the search at its peak, in bytes
+     */
+    public long getPeakMemoryBytes() {
+        return peakMemoryBytes;
+    }
+
+    /**
+     * @return the number of states expanded per second
+     */
+    public double getStatesPerSecond() {
+        return elapsedNanos == 0 ? 0 : expanded * 1e9 / elapsedNanos;
+    }
+}
@@ -0,0 +1,103 @@
+package com.java.solver;
+
+import java.util.Arrays;
+
+
+/**
+ * Breadth first search over the states of a level.
+ * Since every move costs one, the first goal state found is at the minimal number of moves.
+ * The search goes layer by layer: only the current layer and the next one are kept on the heap, every state seen
+ * is kept in the StateSet with its parent, which is used to rebuild the path.
+ */
+public class Solver {
+    /**
+     * Model of the level to solve.
+     */
+    private final LevelModel model;
+    /**
+     * Set of the states already seen.
+     */
+    private final StateSet visited;
+
+    /**
+     * Constructor of the Solver, the states seen are kept in a LongStateSet on the heap.
+     * @param model the model of the level to solve
+     */
+    public Solver(LevelModel model) {
+        this(model, new LongStateSet(1024));
+    }
+
+    /**
+     * Constructor of the Solver.
+     * @param model the model of the level to solve
+     * @param visited an empty set where the states seen are kept, like an OffHeapStateSet for big levels
+     */
+    public Solver(LevelModel model, StateSet visited) {
+        this.model = model;
+        this.visited = visited;
+    }
+
+    /**
+     * Searches the shortest sequence of moves that solves the level.
+     * @return the solution, with no path if the level cannot be solved
+     */
+    public Solution solve() {
+        long start = System.nanoTime();
+        long[] layer = {model.getInitialState()};
+        long[] next = new long[1024];
+        long[] successors = new long[model.getMaxSuccessors()];
+        long expanded = 0;
+        long peakMemory = 0;
+        visited.add(model.getInitialState(), LongStateSet.EMPTY);
+
+        int layerSize = 1;
+        while (layerSize > 0) {
+            int nextSize = 0;
+            for (int i = 0; i < layerSize; i++) {
+                long state = layer[i];
+                expanded++;
+                if (model.isGoal(state)) {
+                    peakMemory = Math.max(peakMemory, memory(layer, next));
+                    return new Solution(path(visited, state), expanded, visited.size(), System.nanoTime() - start,
+                            peakMemory);
+                }
+                int count = model.successors(state, successors);
+                for (int k = 0; k < count; k++) {
+                    if (!visited.add(successors[k], state)) continue;
+                    if (nextSize == next.length) next = Arrays.copyOf(next, next.length * 2);
+                    next[nextSize++] = successors[k];
+                }
+            }
+            peakMemory = Math.max(peakMemory, memory(layer, next));
+            // the array of the layer is reused for the one after the next layer
+            long[] done = layer;
+            layer = next;
+            next = done;
+            layerSize = nextSize;
+        }
+        return new Solution(null, expanded, visited.size(), System.nanoTime() - start, peakMemory);
+    }
+
+    /**
+     * @param layer states of the current layer
+     * @param next states of the next layer
+     * @return the memory used by the two layers and the set in bytes
+     */
+    private long memory(long[] layer, long[] next) {
+        return (layer.length + next.length) * 8L + visited.getMemoryBytes();
+    }
+
+    /**
+     * Rebuilds the path from the start to a state with the parents stored in the set.
+     * @param visited the set of the states seen by the search
+     * @param last the last state of the path
+     * @return the states from the start to the last state
+     */
+    private static long[] path(StateSet visited, long last) {
+        int length = 0;
+        for (long s = last; s != LongStateSet.EMPTY; s = visited.getParent(s)) length++;
+        long[] path = new long[length];
+        for (long s = last; s != LongStateSet.EMPTY; s = visited.getParent(s)) path[--length] = s;
+        return path;
+    }
+}
@@ -0,0 +1,73 @@
+package com.java.solver;
+
+import com.java.config.LogicConstants;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+
+/**
+ * Scaling benchmark of the ParallelSolver.
+ * The levels are solved again and again with pools of growing size, and the states expanded per second are printed.
+ * Usage: SolverBenchmark [--threads=1,2,4,8,16] [--runs=20] [level id...], every level is used when no id is given.
+ */
+public class SolverBenchmark {
+    /**
+     * Number of untimed runs before the timed ones, so that the JIT compiler has done its work.
+     */
+    private static final int WARMUP_RUNS = 5;
+
+    /**
+     * @param args arguments passed in the terminal
+     */
+    public static void main(String[] args) {
+        String[] threads = {"1", "2", "4", "8", "16"};
+        int runs = 20;
+        List<Integer> levels = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--threads=")) threads = arg.substring("--threads=".length()).split(",");
+            else if (arg.startsWith("--runs=")) runs = Integer.parseInt(arg.substring("--runs=".length()));
+            else levels.add(Integer.parseInt(arg));
+        }
+        if (levels.isEmpty()) {
+            for (int i = 0; i < LogicConstants.NUMBER_OF_LEVELS; i++) levels.add(i);
+        }
+        List<LevelModel> models = new ArrayList<>();
+        for (int level : levels) models.add(LevelModel.load(level));
+
+        System.out.printf("%d cores available, %d runs of levels %s%n", Runtime.getRuntime().availableProcessors(),
+                runs, levels);
+        double single = 0;
+        for (String thread : threads) {
+            int count = Integer.parseInt(thread);
+            ForkJoinPool pool = new ForkJoinPool(count);
+            try {
+                for (int run = 0; run < WARMUP_RUNS; run++) solveAll(models, pool);
+                long expanded = 0;
+                long elapsed = 0;
+                for (int run = 0; run < runs; run++) {
+                    long start = System.nanoTime();
+                    expanded += solveAll(models, pool);
+                    elapsed += System.nanoTime() - start;
+                }
+                double rate = expanded * 1e9 / elapsed;
+                if (single == 0) single = rate;
+                System.out.printf("%2d threads: %12.0f states/s (x%.2f)%n", count, rate, rate / single);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * @param models the levels to solve
+     * @param pool the pool running the searches
+     * @return the number of states expanded
+     */
+    private static long solveAll(List<LevelModel> models, ForkJoinPool pool) {
+        long expanded = 0;
+        for (LevelModel model : models) expanded += new ParallelSolver(model, pool).solve().getExpanded();
+        return expanded;
+    }
+}
@@ -0,0 +1,96 @@
+package com.java.solver;
+
+import com.java.config.LogicConstants;
+import com.java.logic.LevelManager;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+
+/**
+ * Command line entry point of the solver.
+ * It computes the minimal number of moves of the levels and compares it with the "moves" field of levels.json.
+ * Usage: SolverMain [--path] [--algo=bfs,astar,idastar,parallel,external] [--memory=size]
+ * [--disk=directory] [level id...],
+ * every level is solved when no id is given.
+ * Several algorithms can be given to compare their statistics, the default one is bfs.
+ * With --memory=256m, bfs keeps the states seen and their parents in an OffHeapStateSet limited to this size,
+ * outside of the heap, and fails once it is full; only its two current layers stay on the heap.
+ * external sorts runs of this size. The layers of external are written in the --disk directory,
+ * the temporary directory of the system by default.
+ */
+public class SolverMain {
+    /**
+     * @param args arguments passed in the terminal
+     */
+    public static void main(String[] args) {
+        boolean printPath = false;
+        String[] algorithms = {"bfs"};
+        long memory = 0;
+        Path disk = Path.of(System.getProperty("java.io.tmpdir"));
+        List<Integer> levels = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.equals("--path")) printPath = true;
+            else if (arg.startsWith("--algo=")) algorithms = arg.substring("--algo=".length()).split(",");
+            else if (arg.startsWith("--memory=")) memory = OffHeapStateSet.parseSize(arg.substring(9));
+            else if (arg.startsWith("--disk=")) disk = Path.of(arg.substring(7));
+            else levels.add(Integer.parseInt(arg));
+        }
+        if (levels.isEmpty()) {
+            for (int i = 0; i < LogicConstants.NUMBER_OF_LEVELS; i++) levels.add(i);
+        }
+
+        int mismatches = 0;
+        for (int level : levels) {
+            LevelModel model = LevelModel.load(level);
+            int expected = LevelManager.NumMovesFromJson(level);
+            for (String algorithm : algorithms) {
+                Solution solution;
+                try {
+                    solution = solve(algorithm, model, memory, disk);
+                } catch (IllegalStateException e) {
+                    System.out.printf("Level %d [%s]: %s%n", level, algorithm, e.getMessage());
+                    mismatches++;
+                    continue;
+                }
+                boolean mismatch = solution.getMoves() != expected;
+                if (mismatch) mismatches++;
+                System.out.printf("Level %d [%s]: %s (levels.json: %d)%s - %d expanded in %.2f ms, %.0f states/s,"
+                                + " peak memory %d KB%n",
+                        level, algorithm, solution.isSolved() ? solution.getMoves() + " moves" : "unsolvable",
+                        expected, mismatch ? " MISMATCH" : "", solution.getExpanded(),
+                        solution.getElapsedNanos() / 1e6, solution.getStatesPerSecond(),
+                        solution.getPeakMemoryBytes() / 1024);
+                if (printPath && solution.isSolved()) {
+                    long[] path = solution.getPath();
+                    for (int i = 1; i < path.length; i++) {
+                        System.out.println("    " + i + ". " + model.describe(path[i - 1], path[i]));
+                    }
+                }
+            }
+        }
+        if (mismatches > 0) System.exit(1);
+    }
+
+    /**
+     * @param algorithm name of the algorithm: bfs, astar, idastar, parallel or external
+     * @param model the model of the level to solve
+     * @param memory memory budget of bfs and external in bytes, 0 for the default behaviour
+     * @param disk directory of the files of external
+     * @return the solution found by the algorithm
+     */
+    private static Solution solve(String algorithm, LevelModel model, long memory, Path disk) {
+        return switch (algorithm) {
+            case "bfs" -> memory > 0 ? new Solver(model, new OffHeapStateSet(memory)).solve()
+                    : new Solver(model).solve();
+            case "astar" -> new AStarSolver(model).solve();
+            case "idastar" -> new IdaStarSolver(model).solve();
+            case "parallel" -> new ParallelSolver(model, ForkJoinPool.commonPool()).solve();
+            case "external" -> new ExternalSolver(model, disk,
+                    memory > 0 ? (int) Math.min(Integer.MAX_VALUE - 8, memory / 8) : 1 << 20, System.out).solve();
+            default -> throw new IllegalArgumentException("Unknown algorithm: " + algorithm);
+        };
+    }
+}
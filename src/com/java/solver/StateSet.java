@@ -0,0 +1,49 @@
+package com.java.solver;
+
+
+/**
+ * Set of packed states used by the searches to remember the states already seen.
+ * A packed state uses at most 60 bits, so it is never negative.
+ * The parent of each state is stored next to it, so that the search can rebuild its path without keeping
+ * every state it has seen in a queue.
+ */
+public interface StateSet {
+    /**
+     * Adds a state to the set.
+     * @param state the packed state to add
+     * @param parent the state it was reached from, LongStateSet.EMPTY for the initial state
+     * @return true if the state was not already in the set
+     */
+    boolean add(long state, long parent);
+
+    /**
+     * Adds a state without parent to the set.
+     * @param state the packed state to add
+     * @return true if the state was not already in the set
+     */
+    default boolean add(long state) {
+        return add(state, LongStateSet.EMPTY);
+    }
+
+    /**
+     * @param state a packed state
+     * @return true if the state is in the set
+     */
+    boolean contains(long state);
+
+    /**
+     * @param state a packed state in the set
+     * @return the state it was reached from, or LongStateSet.EMPTY if it has none or is not in the set
+     */
+    long getParent(long state);
+
+    /**
+     * @return the number of states in the set
+     */
+    long size();
+
+    /**
+     * @return the memory used by the set in bytes
+     */
+    long getMemoryBytes();
+}
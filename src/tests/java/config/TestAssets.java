@@ -0,0 +1,77 @@
+package src.tests.java.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import com.java.config.Assets;
+import com.java.config.DecoratorIcons;
+import com.java.config.GuiPieceImages;
+import com.java.config.SpriteVariant;
+
+public class TestAssets {
+
+
+    @Test
+    public void testPreloadDecodesEveryAssetOnce() {
+        Assets.preload().join();
+        assertTrue(Assets.getTimings().containsKey("icons/titleImage.png"));
+        assertTrue(Assets.getTimings().containsKey("fonts/Lentariso-Bd.ttf"));
+        assertTrue(Assets.getTimings().containsKey("sfx/move1.wav"));
+        assertSame(Assets.getImage("shapes/OShape.png"), Assets.getImage("shapes/OShape.png"));
+        assertEquals(1, Assets.getFont("fonts/Lentariso-Bd.ttf").getSize());
+        assertTrue(Assets.getSound("sfx/move1.wav").getData().length > 0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testMissingAsset() {
+        Assets.getImage("icons/missing.png");
+    }
+
+    @Test
+    public void testDecoratorIconsAreScaledOncePerSize() {
+        assertSame(DecoratorIcons.getArrow(0, 60), DecoratorIcons.getArrow(0, 60));
+        assertSame(DecoratorIcons.getAction("FlipX", 60), DecoratorIcons.getAction("FlipX", 60));
+        assertEquals(80, DecoratorIcons.getArrow(3, 80).getWidth());
+        assertEquals(80, DecoratorIcons.getArrow(3, 80).getHeight());
+    }
+
+    @Test
+    public void testDecoratorIconsRenderedAheadAreInstalled() throws Exception {
+        // rendered off the event dispatch thread, like after a resize
+        Map<String, BufferedImage> icons = CompletableFuture.supplyAsync(() -> DecoratorIcons.render(90)).get();
+        DecoratorIcons.install(90, icons);
+        assertSame(icons.get("up"), DecoratorIcons.getArrow(0, 90));
+        assertSame(icons.get("RotationL"), DecoratorIcons.getAction("RotationL", 90));
+        assertEquals(90, DecoratorIcons.getArrow(0, 90).getWidth());
+    }
+
+    @Test
+    public void testPieceSpritesAreCachedAndBounded() {
+        GuiPieceImages.clear();
+        BufferedImage sprite = GuiPieceImages.getSprite("JShape", 1, true, false, Color.red, 60);
+        assertSame(sprite, GuiPieceImages.getSprite("JShape", 1, true, false, Color.red, 60));
+        // a variant copied from a piece finds the same sprite, like after a resize
+        assertSame(sprite, new SpriteVariant("JShape", 1, true, false, Color.red).render(60));
+        assertNotSame(sprite, GuiPieceImages.getSprite("JShape", 1, true, false, Color.blue, 60));
+        // a rotated J is 3 cells wide and 2 cells high
+        assertEquals(180, sprite.getWidth());
+        assertEquals(120, sprite.getHeight());
+        assertEquals(Color.red.getRGB() & 0xFFFFFF, sprite.getRGB(90, 60) & 0xFFFFFF);
+
+        // sprites of big cells overflow the cache, the least recently used are forgotten
+        for (int size = 400; size < 1000; size += 100) {
+            GuiPieceImages.getSprite("OShape", 0, false, false, Color.red, size);
+        }
+        assertTrue(GuiPieceImages.getCachedBytes() <= GuiPieceImages.MAX_BYTES);
+    }
+
+}
@@ -0,0 +1,78 @@
+package src.tests.java.gui;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.java.gui.animation.Animation;
+import com.java.gui.animation.Easing;
+import com.java.gui.animation.FrameClock;
+
+public class TestFrameClock {
+
+
+    @Test
+    public void testAnimationProgressesToItsEnd() throws Exception {
+        FrameClock clock = new FrameClock(60);
+        List<Double> frames = new ArrayList<>();
+        AtomicInteger ends = new AtomicInteger();
+        CountDownLatch ended = new CountDownLatch(1);
+        SwingUtilities.invokeAndWait(() -> clock.start(new Animation(100, Easing.EASE_OUT, frames::add, () -> {
+            ends.incrementAndGet();
+            ended.countDown();
+        })));
+        assertTrue(ended.await(5, TimeUnit.SECONDS));
+        SwingUtilities.invokeAndWait(() -> {
+            assertEquals(0, frames.get(0), 0);
+            assertEquals(1, frames.get(frames.size() - 1), 0);
+            // a late frame moves further, the progress never goes back
+            for (int i = 1; i < frames.size(); i++) assertTrue(frames.get(i) >= frames.get(i - 1));
+            assertEquals(1, ends.get());
+            assertFalse(clock.isRunning());
+        });
+    }
+
+    @Test
+    public void testFinishJumpsToTheEnd() throws Exception {
+        FrameClock clock = new FrameClock(60);
+        List<Double> frames = new ArrayList<>();
+        AtomicInteger ends = new AtomicInteger();
+        SwingUtilities.invokeAndWait(() -> {
+            Animation animation = new Animation(10_000, Easing.LINEAR, frames::add, ends::incrementAndGet);
+            clock.start(animation);
+            clock.finish(animation);
+            clock.finish(animation);
+            assertTrue(animation.isEnded());
+            assertEquals(1, frames.get(frames.size() - 1), 0);
+            assertEquals(1, ends.get());
+            assertFalse(clock.isRunning());
+        });
+    }
+
+    @Test
+    public void testAnimationFinishedByAnEndActionStaysAtItsEnd() throws Exception {
+        FrameClock clock = new FrameClock(60);
+        List<Double> frames = new ArrayList<>();
+        CountDownLatch ended = new CountDownLatch(1);
+        SwingUtilities.invokeAndWait(() -> {
+            Animation slow = new Animation(10_000, Easing.LINEAR, frames::add, ended::countDown);
+            // ends at the first tick and finishes the slow one, which is later in the same frame
+            clock.start(new Animation(0, Easing.LINEAR, progress -> { }, () -> clock.finish(slow)));
+            clock.start(slow);
+        });
+        assertTrue(ended.await(5, TimeUnit.SECONDS));
+        SwingUtilities.invokeAndWait(() -> {
+            assertEquals(1, frames.get(frames.size() - 1), 0);
+            assertFalse(clock.isRunning());
+        });
+    }
+}
@@ -0,0 +1,26 @@
+package src.tests.java.gui;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+
+import com.java.gui.LevelPrefetcher;
+import com.java.gui.PreparedLevel;
+import com.java.logic.LevelCatalog;
+import com.java.logic.PieceLogic;
+
+public class TestLevelPrefetcher {
+
+
+    @Test
+    public void testPrefetchedLevel() {
+        LevelPrefetcher.prefetch(1);
+        PreparedLevel prepared = LevelPrefetcher.take(1);
+        assertEquals(1, prepared.getLevel());
+        PieceLogic pieceLogic = new PieceLogic();
+        prepared.moveTo(pieceLogic);
+        assertEquals(LevelCatalog.get().getLevel(1).getPieces().size(), pieceLogic.getPieces().size());
+        assertFalse(pieceLogic.getTargets().isEmpty());
+    }
+}
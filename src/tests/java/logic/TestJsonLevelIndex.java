@@ -0,0 +1,51 @@
+package src.tests.java.logic;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import com.java.config.GuiConfig;
+import com.java.logic.JsonLevelIndex;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class TestJsonLevelIndex {
+
+
+    @Test
+    public void testEntriesMatchFullParse() throws IOException {
+        for (String name : new String[]{"maps/levels.json", "maps/pieces.json"}) {
+            Path file = Path.of(GuiConfig.resPath, name);
+            JSONArray levels = new JSONObject(Files.readString(file)).getJSONArray("levels");
+            JsonLevelIndex index = JsonLevelIndex.build(file);
+            assertEquals(levels.length(), index.getIds().length);
+            for (int i = 0; i < levels.length(); i++) {
+                JSONObject level = levels.getJSONObject(i);
+                assertTrue(name + " " + i, level.similar(index.read(level.getInt("id"))));
+            }
+        }
+    }
+
+    @Test
+    public void testTrickyEntries() throws IOException {
+        Path file = Files.createTempFile("levels", ".json");
+        Files.writeString(file, "{\"name\": \"{[\\\"levels\\\"\", \"levels\": [\n"
+                + "  {\"pieces\": [{\"id\": 7}], \"name\": \"a } ] \\\" b\", \"id\": 12},\n"
+                + "  {\"id\":-3, \"map\": {\"id\": 99}}\n"
+                + "], \"other\": [{\"id\": 5}]}");
+        JsonLevelIndex index = JsonLevelIndex.build(file);
+        assertArrayEquals(new int[]{-3, 12}, index.getIds());
+        assertEquals("a } ] \" b", index.read(12).getString("name"));
+        assertEquals(99, index.read(-3).getJSONObject("map").getInt("id"));
+        assertNull(index.read(5));
+        Files.delete(file);
+    }
+
+}
@@ -0,0 +1,79 @@
+package src.tests.java.logic;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import com.java.config.GuiConfig;
+import com.java.logic.DecoratorDefinition;
+import com.java.logic.LevelCatalog;
+import com.java.logic.LevelDefinition;
+import com.java.logic.LevelPack;
+import com.java.logic.PieceDefinition;
+import com.java.logic.TargetDefinition;
+import com.java.piece.ShapeRegistry;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class TestLevelPack {
+
+
+    @Test
+    public void testPackMatchesJson() throws IOException {
+        LevelCatalog catalog = LevelCatalog.load(Path.of(GuiConfig.resPath, "maps"));
+        ShapeRegistry shapes = ShapeRegistry.load(Path.of(GuiConfig.resPath, "shapes.json"));
+        Path path = Files.createTempFile("levels", ".pack");
+        LevelPack.compile(catalog, shapes, path);
+        LevelPack pack = LevelPack.open(path);
+
+        assertEquals(catalog.getLevels().size(), pack.getLevelCount());
+        assertNull(pack.getLevel(-1));
+        for (String type : shapes.getTypes()) {
+            assertEquals(shapes.getShape(type).getMask(0), pack.getShapes().getShape(type).getMask(0));
+        }
+        for (LevelDefinition expected : catalog.getLevels()) {
+            LevelDefinition level = pack.getLevel(expected.getId());
+            assertEquals(expected.getName(), level.getName());
+            assertEquals(expected.getMoves(), level.getMoves());
+            assertEquals(expected.isLocked(), level.isLocked());
+            assertEquals(expected.getMap(), level.getMap());
+            assertEquals(expected.getWidth(), level.getWidth());
+            assertEquals(expected.getPieces().size(), level.getPieces().size());
+            for (int p = 0; p < expected.getPieces().size(); p++) {
+                PieceDefinition piece = level.getPieces().get(p);
+                PieceDefinition expectedPiece = expected.getPieces().get(p);
+                assertEquals(expectedPiece.getShape(), piece.getShape());
+                assertEquals(expectedPiece.getColor(), piece.getColor());
+                assertEquals(expectedPiece.getX(), piece.getX());
+                assertEquals(expectedPiece.getY(), piece.getY());
+                for (int d = 0; d < expectedPiece.getDecorators().size(); d++) {
+                    DecoratorDefinition decorator = piece.getDecorators().get(d);
+                    DecoratorDefinition expectedDecorator = expectedPiece.getDecorators().get(d);
+                    assertEquals(expectedDecorator.getType(), decorator.getType());
+                    assertEquals(expectedDecorator.getX(), decorator.getX());
+                    assertEquals(expectedDecorator.getY(), decorator.getY());
+                    assertArrayEquals(expectedDecorator.getDirections(), decorator.getDirections());
+                    assertEquals(expectedDecorator.isClockwise(), decorator.isClockwise());
+                    assertEquals(expectedDecorator.getRepeat(), decorator.getRepeat());
+                    assertEquals(expectedDecorator.isHorizontal(), decorator.isHorizontal());
+                }
+            }
+            for (int t = 0; t < expected.getTargets().size(); t++) {
+                TargetDefinition target = level.getTargets().get(t);
+                TargetDefinition expectedTarget = expected.getTargets().get(t);
+                assertEquals(expectedTarget.getPiece(), target.getPiece());
+                assertEquals(expectedTarget.getX(), target.getX());
+                assertEquals(expectedTarget.getY(), target.getY());
+                assertEquals(expectedTarget.getRotations(), target.getRotations());
+                assertEquals(expectedTarget.isFlippedX(), target.isFlippedX());
+                assertEquals(expectedTarget.isFlippedY(), target.isFlippedY());
+            }
+        }
+        Files.delete(path);
+    }
+
+}
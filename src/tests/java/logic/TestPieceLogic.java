@@ -1,11 +1,19 @@
 package src.tests.java.logic;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
+import com.java.geometry.BitBoard;
 import com.java.geometry.IntCoordinates;
+import com.java.logic.GameState;
+import com.java.logic.LevelCatalog;
+import com.java.logic.LevelDefinition;
+import com.java.logic.LevelManager;
+import com.java.logic.Move;
 import com.java.logic.PieceLogic;
 import com.java.piece.decorator.*;
 import com.java.piece.*;
@@ -33,4 +41,50 @@ public class TestPieceLogic {
         assertEquals(0, pieceLogic.getPieces().size());
     }
 
+    @Test
+    public void testStateFollowsMoves() {
+        PieceLogic pieceLogic = new PieceLogic();
+        LevelManager.loadPiecesFromJson(pieceLogic, 1);
+        GameState start = pieceLogic.getState();
+        Decorator dec = pieceLogic.getPieces().get(0);
+
+        dec.personalAction();
+        pieceLogic.pieceMoved(dec);
+        GameState moved = pieceLogic.getState();
+        assertNotEquals(start, moved);
+        assertEquals(GameState.of(pieceLogic), moved);
+        assertEquals(GameState.of(pieceLogic).getHash(), moved.getHash());
+
+        new Move(dec, pieceLogic).undo();
+        assertEquals(start, pieceLogic.getState());
+        assertEquals(start.getHash(), pieceLogic.getState().getHash());
+    }
+
+    @Test
+    public void testDirtyCellsFollowMoves() {
+        PieceLogic pieceLogic = new PieceLogic();
+        LevelManager.loadPiecesFromJson(pieceLogic, 1);
+        assertEquals(pieceLogic.getOccupancy(), pieceLogic.takeDirtyCells());
+        assertEquals(0, pieceLogic.takeDirtyCells());
+        Decorator dec = pieceLogic.getPieces().get(0);
+
+        long before = dec.getPiece().getFootprint();
+        dec.personalAction();
+        pieceLogic.pieceMoved(dec);
+        assertEquals(before | dec.getPiece().getFootprint(), pieceLogic.takeDirtyCells());
+
+        pieceLogic.clearPieces();
+        assertEquals(BitBoard.OUTSIDE, pieceLogic.takeDirtyCells());
+    }
+
+    @Test
+    public void testLevelCatalog() {
+        LevelCatalog catalog = LevelCatalog.get();
+        assertSame(catalog, LevelCatalog.get());
+        LevelDefinition level = catalog.getLevel(1);
+        assertEquals(1, level.getId());
+        assertEquals(level.getWidth() * level.getHeight(), level.getMap().length());
+        assertEquals(LevelManager.NumMovesFromJson(1), level.getMoves());
+    }
+
 }
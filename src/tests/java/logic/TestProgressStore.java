@@ -0,0 +1,44 @@
+package src.tests.java.logic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.java.logic.ProgressStore;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class TestProgressStore {
+
+
+    @Test
+    public void testProgressIsSavedAndReloaded() throws IOException {
+        Path directory = Files.createTempDirectory("progress");
+        Path file = directory.resolve("progress.json");
+        ProgressStore store = new ProgressStore(file);
+        assertFalse(store.isUnlocked(3));
+        assertEquals(ProgressStore.NONE, store.getBestMoves(2));
+
+        store.recordWin(2, 9, 2);
+        store.recordWin(2, 12, 1);
+        store.recordWin(2, 7, 3);
+        store.close();
+        assertFalse(Files.exists(directory.resolve("progress.json.tmp")));
+
+        ProgressStore reloaded = new ProgressStore(file);
+        assertTrue(reloaded.isUnlocked(2));
+        assertTrue(reloaded.isUnlocked(3));
+        assertFalse(reloaded.isUnlocked(4));
+        assertEquals(7, reloaded.getBestMoves(2));
+        assertEquals(3, reloaded.getStars(2));
+        reloaded.close();
+
+        Files.delete(file);
+        Files.delete(directory);
+    }
+
+}
@@ -0,0 +1,68 @@
+package src.tests.java.piece;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import com.java.config.LogicConstants;
+import com.java.logic.Arena;
+import com.java.logic.GameState;
+import com.java.logic.LevelManager;
+import com.java.logic.MoveEvaluation;
+import com.java.logic.PieceLogic;
+import com.java.piece.Piece;
+import com.java.piece.PieceBrute;
+import com.java.piece.decorator.*;
+
+public class TestMoveEvaluation {
+
+
+    @Test
+    public void testEvaluationMatchesAction() {
+        Random random = new Random(42);
+        for (int level = 0; level < LogicConstants.NUMBER_OF_LEVELS; level++) {
+            PieceLogic pieceLogic = new PieceLogic();
+            Arena arena = new Arena(level);
+            LevelManager.loadPiecesFromJson(pieceLogic, level);
+
+            // Random walk through the level, every move is checked against the real action before being played
+            for (int step = 0; step < 50; step++) {
+                ArrayList<Runnable> legal = new ArrayList<>();
+                for (Decorator top : pieceLogic.getPieces()) {
+                    for (Piece p = top; p instanceof Decorator d; p = d.getPrevPiece()) {
+                        int tries = d instanceof Translation ? 4 : 1;
+                        for (int k = 0; k < tries; k++) {
+                            if (d instanceof Translation t) {
+                                if (!t.getDirections()[k]) continue;
+                                t.setDir(Direction.values()[k]);
+                            }
+                            GameState before = GameState.of(pieceLogic);
+                            MoveEvaluation evaluation = d.evaluate(pieceLogic, arena);
+                            assertEquals(before, GameState.of(pieceLogic));
+
+                            d.personalAction();
+                            PieceBrute piece = d.getPiece();
+                            assertEquals(!d.checkCollision(pieceLogic, arena), evaluation.isLegal());
+                            assertEquals(piece.getFootprint(), evaluation.getFootprint());
+                            assertEquals(piece.getOrientation(), evaluation.getOrientation());
+                            assertEquals(piece.getOffset().getX(), evaluation.getOffsetX());
+                            assertEquals(piece.getOffset().getY(), evaluation.getOffsetY());
+                            d.personalReverseAction();
+                            if (!evaluation.isLegal()) continue;
+                            Direction dir = d instanceof Translation t ? t.getDir() : null;
+                            legal.add(() -> {
+                                if (dir != null) ((Translation) d).setDir(dir);
+                                d.personalAction();
+                            });
+                        }
+                    }
+                }
+                if (legal.isEmpty()) break;
+                legal.get(random.nextInt(legal.size())).run();
+            }
+        }
+    }
+}
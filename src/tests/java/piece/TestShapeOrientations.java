@@ -0,0 +1,81 @@
+package src.tests.java.piece;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.java.config.Colours;
+import com.java.geometry.IntCoordinates;
+import com.java.piece.*;
+
+public class TestShapeOrientations {
+
+
+    @Test
+    public void testRegistrySharesShapes() {
+        ShapeRegistry registry = ShapeRegistry.get();
+        assertSame(registry, ShapeRegistry.get());
+        PieceBrute first = new ShapeFactory("LShape", Colours.PIECE_RED, new IntCoordinates(0, 0),
+                new IntCoordinates(0, 0));
+        PieceBrute second = new ShapeFactory("LShape", Colours.PIECE_BLUE, new IntCoordinates(2, 1),
+                new IntCoordinates(0, 0));
+        assertSame(registry.getShape("LShape"), first.getOrientations());
+        assertSame(first.getOrientations(), second.getOrientations());
+        assertArrayEquals(registry.getShape("LShape").getShape(0), first.getShape());
+        assertNull(registry.getShape("NoShape"));
+    }
+
+    @Test
+    public void testTransitionsMatchShapes() {
+        boolean[][] tShape = {{true, true, true}, {false, true, false}};
+        boolean[][] lShape = {{true, false}, {true, false}, {true, true}};
+        for (boolean[][] base : new boolean[][][]{tShape, lShape}) {
+            ShapeOrientations table = new ShapeOrientations(base);
+            for (int k = 0; k < ShapeOrientations.COUNT; k++) {
+                boolean[][] shape = table.getShape(k);
+                assertArrayEquals(rotate(shape, true), table.getShape(ShapeOrientations.rotate(k, true)));
+                assertArrayEquals(rotate(shape, false), table.getShape(ShapeOrientations.rotate(k, false)));
+                assertArrayEquals(flip(shape, true), table.getShape(ShapeOrientations.flip(k, true)));
+                assertArrayEquals(flip(shape, false), table.getShape(ShapeOrientations.flip(k, false)));
+            }
+        }
+    }
+
+    @Test
+    public void testPointsStayOnTheShape() {
+        ShapeOrientations table = new ShapeOrientations(new boolean[][]{{false, true}, {false, true}, {true, true}});
+        for (int k = 0; k < ShapeOrientations.COUNT; k++) {
+            for (IntCoordinates p : table.getPosShape(k)) {
+                IntCoordinates r = table.rotatePoint(k, p, true);
+                assertTrue(table.getShape(ShapeOrientations.rotate(k, true))[r.getY()][r.getX()]);
+                IntCoordinates f = table.flipPoint(k, p, false);
+                assertTrue(table.getShape(ShapeOrientations.flip(k, false))[f.getY()][f.getX()]);
+            }
+        }
+    }
+
+    private static boolean[][] rotate(boolean[][] shape, boolean clockwise) {
+        boolean[][] rotated = new boolean[shape[0].length][shape.length];
+        for (int i = 0; i < shape.length; i++) {
+            for (int j = 0; j < shape[0].length; j++) {
+                if (clockwise) rotated[j][shape.length - i - 1] = shape[i][j];
+                else rotated[shape[0].length - j - 1][i] = shape[i][j];
+            }
+        }
+        return rotated;
+    }
+
+    private static boolean[][] flip(boolean[][] shape, boolean xAxis) {
+        boolean[][] flipped = new boolean[shape.length][shape[0].length];
+        for (int i = 0; i < shape.length; i++) {
+            for (int j = 0; j < shape[0].length; j++) {
+                if (xAxis) flipped[i][j] = shape[shape.length - i - 1][j];
+                else flipped[i][j] = shape[i][shape[0].length - j - 1];
+            }
+        }
+        return flipped;
+    }
+}
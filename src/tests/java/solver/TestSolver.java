@@ -0,0 +1,149 @@
+package src.tests.java.solver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import com.java.config.LogicConstants;
+import com.java.logic.Arena;
+import com.java.logic.LevelManager;
+import com.java.logic.PieceLogic;
+import com.java.piece.Piece;
+import com.java.piece.decorator.*;
+import com.java.solver.*;
+
+public class TestSolver {
+
+
+    @Test
+    public void testMovesMatchLevels() {
+        for (int level = 0; level < LogicConstants.NUMBER_OF_LEVELS; level++) {
+            Solution solution = new Solver(LevelModel.load(level)).solve();
+            assertEquals("level " + level, LevelManager.NumMovesFromJson(level), solution.getMoves());
+        }
+    }
+
+    @Test
+    public void testHeuristicSearchesAreOptimal() {
+        for (int level = 0; level < LogicConstants.NUMBER_OF_LEVELS; level++) {
+            LevelModel model = LevelModel.load(level);
+            int moves = new Solver(model).solve().getMoves();
+            assertEquals("A* level " + level, moves, new AStarSolver(model).solve().getMoves());
+            assertEquals("IDA* level " + level, moves, new IdaStarSolver(model).solve().getMoves());
+        }
+    }
+
+    @Test
+    public void testParallelSolverIsOptimal() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        for (int level = 0; level < LogicConstants.NUMBER_OF_LEVELS; level++) {
+            LevelModel model = LevelModel.load(level);
+            Solution solution = new ParallelSolver(model, pool).solve();
+            assertEquals("level " + level, new Solver(model).solve().getMoves(), solution.getMoves());
+            long[] path = solution.getPath();
+            assertEquals(model.getInitialState(), path[0]);
+            assertTrue(model.isGoal(path[path.length - 1]));
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    public void testExternalSolverIsOptimal() throws IOException {
+        Path directory = Files.createTempDirectory("external");
+        for (int level = 0; level < LogicConstants.NUMBER_OF_LEVELS; level++) {
+            LevelModel model = LevelModel.load(level);
+            // Small runs so that the bigger levels use several run files per layer
+            Solution solution = new ExternalSolver(model, directory, 1000, null).solve();
+            assertEquals("level " + level, new Solver(model).solve().getMoves(), solution.getMoves());
+            long[] path = solution.getPath();
+            assertEquals(model.getInitialState(), path[0]);
+            assertTrue(model.isGoal(path[path.length - 1]));
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void testDistanceTable() throws IOException {
+        Path file = Files.createTempFile("distances", ".bin");
+        for (int level = 0; level < LogicConstants.NUMBER_OF_LEVELS; level++) {
+            LevelModel model = LevelModel.load(level);
+            DistanceTable.build(level, model, file);
+            DistanceTable table = DistanceTable.open(file);
+            assertEquals(level, table.getLevel());
+            assertEquals(model.getInitialState(), table.getInitialState());
+            // The distance decreases by one along an optimal path
+            long[] path = new Solver(model).solve().getPath();
+            for (int i = 0; i < path.length; i++) {
+                assertEquals("level " + level, path.length - 1 - i, table.getDistance(path[i]));
+            }
+        }
+        Files.delete(file);
+    }
+
+    @Test
+    public void testOffHeapStateSet() {
+        OffHeapStateSet set = new OffHeapStateSet(OffHeapStateSet.parseSize("3m"));
+        for (long state = 0; state < 50_000; state++) assertTrue(set.add(state * 7919));
+        for (long state = 0; state < 50_000; state++) assertTrue(set.contains(state * 7919));
+        assertFalse(set.add(7919));
+        assertFalse(set.contains(1));
+        assertEquals(50_000, set.size());
+
+        LevelModel model = LevelModel.load(7);
+        assertEquals(35, new Solver(model, new OffHeapStateSet(2 << 20)).solve().getMoves());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testOffHeapStateSetBudget() {
+        OffHeapStateSet set = new OffHeapStateSet(1024);
+        for (long state = 0; state < 1024; state++) set.add(state);
+    }
+
+    @Test
+    public void testSolutionReplaysWithDecorators() {
+        for (int level = 0; level < LogicConstants.NUMBER_OF_LEVELS; level++) {
+            PieceLogic pieceLogic = new PieceLogic();
+            Arena arena = new Arena(level);
+            LevelManager.loadPiecesFromJson(pieceLogic, level);
+            LevelModel model = new LevelModel(arena, pieceLogic);
+            long[] path = new Solver(model).solve().getPath();
+
+            for (int i = 1; i < path.length; i++) {
+                assertTrue("level " + level + " move " + i, replay(pieceLogic, arena, model, path[i]));
+            }
+            assertTrue("level " + level, pieceLogic.checkWin());
+        }
+    }
+
+    /**
+     * Finds the decorator action that leads to the next state of the path and applies it.
+     */
+    private boolean replay(PieceLogic pieceLogic, Arena arena, LevelModel model, long next) {
+        for (Decorator top : pieceLogic.getPieces()) {
+            for (Piece p = top; p instanceof Decorator d; p = d.getPrevPiece()) {
+                int tries = d instanceof Translation ? 4 : 1;
+                for (int k = 0; k < tries; k++) {
+                    if (d instanceof Translation t) {
+                        if (!t.getDirections()[k]) continue;
+                        t.setDir(Direction.values()[k]);
+                    }
+                    d.personalAction();
+                    if (!d.checkCollision(pieceLogic, arena) && model.encode(pieceLogic) == next) return true;
+                    d.personalReverseAction();
+                }
+            }
+        }
+        return false;
+    }
+}